@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.events.ChatMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat handling for the messages a busy world produces, and for an actual potion sip.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChatMessageBenchmark
+{
+	private UnpottedReminderPlugin plugin;
+	private ChatMessage publicChat;
+	private ChatMessage gameMessage;
+	private ChatMessage drinkMessage;
+
+	@Setup
+	public void setUp()
+	{
+		plugin = new PluginFixture().start().plugin;
+		publicChat = message(ChatMessageType.PUBLICCHAT, "<col=0000ff>Selling</col> twisted bow, pm me for price check");
+		gameMessage = message(ChatMessageType.GAMEMESSAGE, "Your <col=ff0000>Great Olm</col> kill count is: <col=ff0000>125</col>.");
+		drinkMessage = message(ChatMessageType.SPAM, "You drink some of your super combat potion.");
+	}
+
+	@Benchmark
+	public void publicChat()
+	{
+		plugin.onChatMessage(publicChat);
+	}
+
+	@Benchmark
+	public void unrelatedGameMessage()
+	{
+		plugin.onChatMessage(gameMessage);
+	}
+
+	@Benchmark
+	public void drinkMessage()
+	{
+		plugin.onChatMessage(drinkMessage);
+	}
+
+	private static ChatMessage message(ChatMessageType type, String text)
+	{
+		ChatMessage message = new ChatMessage();
+		message.setType(type);
+		message.setMessage(text);
+		return message;
+	}
+}
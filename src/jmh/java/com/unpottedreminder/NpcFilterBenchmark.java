@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whitelist/blacklist matching with raid-sized lists, for a repeatedly attacked boss (cache hit) and a
+ * stream of different targets (cache miss).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NpcFilterBenchmark
+{
+	private static final String[] BOSSES = {
+			"Great Olm", "Tekton*", "Vasa Nistirio", "Vespula", "Vanguard*", "Muttadile", "*Shaman", "Skeletal Mystic",
+			"Ice demon", "Verzik Vitur", "The Maiden of Sugadinti", "Pestilent Bloat", "Nylocas*", "Sotetseg", "Xarpus",
+			"Tumeken's Warden", "Elidinis' Warden", "Zebak", "Kephri", "Ba-Ba", "Akkha", "*Scarab*", "Vorkath",
+			"Zulrah", "Alchemical Hydra", "Phantom Muspah", "Duke Sucellus", "The Leviathan", "Vardorvis", "The Whisperer",
+			"Nex", "K'ril Tsutsaroth", "General Graardor", "Commander Zilyana", "Kree'arra", "Cerberus", "Kraken",
+			"Abyssal Sire", "Sol Heredit", "TzKal-Zuk",
+	};
+
+	@Param({"10", "40"})
+	public int listSize;
+
+	private NpcFilter filter;
+	private String boss;
+	private String[] crowd;
+	private int next;
+
+	@Setup
+	public void setUp()
+	{
+		StringBuilder whitelist = new StringBuilder();
+		for (int i = 0; i < listSize; i++)
+		{
+			whitelist.append(BOSSES[i % BOSSES.length]).append(", ");
+		}
+
+		filter = NpcFilter.compile(ConfigSnapshot.builder()
+				.useWhitelist(true)
+				.whitelist(whitelist.toString())
+				.useBlacklist(true)
+				.blacklist("*Shaman, Ice demon, *Scarab*, Nylocas Prinkipas, Jal-*")
+				.build());
+
+		boss = "Great Olm";
+		crowd = new String[256];
+		for (int i = 0; i < crowd.length; i++)
+		{
+			crowd[i] = BOSSES[i % BOSSES.length].replace("*", "") + i;
+		}
+	}
+
+	@Benchmark
+	public boolean sameBoss()
+	{
+		return filter.allows(boss);
+	}
+
+	@Benchmark
+	public boolean rotatingTargets()
+	{
+		next = (next + 1) & (crowd.length - 1);
+		return filter.allows(crowd[next]);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of the flashing text overlay, drawn into an offscreen image the size of a client viewport.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class OverlayRenderBenchmark
+{
+	@Param({"false", "true"})
+	public boolean preRender;
+
+	private PluginFixture fixture;
+	private UnpottedReminderOverlay overlay;
+	private BufferedImage canvas;
+	private Graphics2D graphics;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		boolean preRenderOverlay = preRender;
+		fixture = new PluginFixture(new UnpottedReminderConfig()
+		{
+			@Override
+			public boolean shouldFlash()
+			{
+				return true;
+			}
+
+			@Override
+			public boolean preRenderOverlay()
+			{
+				return preRenderOverlay;
+			}
+		}).start();
+
+		overlay = fixture.overlay();
+		canvas = new BufferedImage(765, 503, BufferedImage.TYPE_INT_ARGB);
+		graphics = canvas.createGraphics();
+		graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public Dimension render()
+	{
+		fixture.gameCycle++;
+		return overlay.render(graphics);
+	}
+}
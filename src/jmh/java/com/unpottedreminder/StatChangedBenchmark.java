@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.StatChanged;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a melee hit: the attack, defence and hitpoints stat changes followed by the game tick that
+ * evaluates them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatChangedBenchmark
+{
+	private static final int BASE_LEVEL = 99;
+	private static final int BASE_XP = 13_034_431;
+
+	private PluginFixture fixture;
+	private UnpottedReminderPlugin plugin;
+	private GameTick gameTick;
+	private int xp;
+
+	@Setup
+	public void setUp()
+	{
+		fixture = new PluginFixture().start();
+		plugin = fixture.plugin;
+		gameTick = new GameTick();
+		xp = BASE_XP;
+	}
+
+	@Benchmark
+	public void meleeHitThenTick()
+	{
+		xp += 40;
+		plugin.onStatChanged(new StatChanged(Skill.ATTACK, xp, BASE_LEVEL, BASE_LEVEL));
+		plugin.onStatChanged(new StatChanged(Skill.DEFENCE, xp, BASE_LEVEL, BASE_LEVEL));
+		plugin.onStatChanged(new StatChanged(Skill.HITPOINTS, xp, BASE_LEVEL, BASE_LEVEL));
+		fixture.tick++;
+		fixture.gameCycle += 30;
+		plugin.onGameTick(gameTick);
+	}
+
+	@Benchmark
+	public void boostedHitThenTick()
+	{
+		xp += 40;
+		plugin.onStatChanged(new StatChanged(Skill.STRENGTH, xp, BASE_LEVEL, BASE_LEVEL + 19));
+		fixture.tick++;
+		fixture.gameCycle += 30;
+		plugin.onGameTick(gameTick);
+	}
+
+	@Benchmark
+	public void idleTick()
+	{
+		fixture.tick++;
+		plugin.onGameTick(gameTick);
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+import net.runelite.api.Varbits;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.eventbus.Subscribe;
+
+import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Predicts the tick on which each boost will decay down to its threshold. Boosts drop by one level every
+ * {@link #DECAY_INTERVAL} ticks, or every {@link #PRESERVE_DECAY_INTERVAL} with Preserve active, on a timer
+ * whose phase is learned from the first observed decay. The earliest predicted crossing is kept in a single
+ * field, so checking for due skills each tick is one comparison.
+ * <p>
+ * Boosts are read from the {@link SkillState}; the scheduler only keeps the tick each one was last seen on, so
+ * it can predict the boost on a later tick from the decays since.
+ */
+class BoostDecayScheduler
+{
+	static final int DECAY_INTERVAL = 100;
+	static final int PRESERVE_DECAY_INTERVAL = 150;
+
+	private static final int NEVER = Integer.MAX_VALUE;
+	private static final Skill[] SKILLS = Skill.values();
+
+	private final ClientView clientView;
+	private final SkillState skillState;
+
+	private final int[] thresholds = new int[SKILLS.length];
+	private final int[] observedTicks = new int[SKILLS.length];
+	private final int[] crossingTicks = new int[SKILLS.length];
+
+	private boolean decayPhaseKnown;
+	private int lastDecayTick;
+	private boolean preserveActive;
+	private int nextDueTick = NEVER;
+
+	@Inject
+	BoostDecayScheduler(ClientView clientView, SkillState skillState)
+	{
+		this.clientView = clientView;
+		this.skillState = skillState;
+		Arrays.fill(crossingTicks, NEVER);
+	}
+
+	/**
+	 * Reads whether Preserve is active. Must be called on the client thread.
+	 */
+	void refresh()
+	{
+		preserveActive = clientView.getVarbitValue(Varbits.PRAYER_PRESERVE) == 1;
+	}
+
+	@Subscribe
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		if (event.getVarbitId() == Varbits.PRAYER_PRESERVE && preserveActive != (event.getValue() == 1))
+		{
+			preserveActive = event.getValue() == 1;
+			rescheduleAll(clientView.getTickCount());
+		}
+	}
+
+	/**
+	 * Marks the current tick as a decay tick, fixing the phase of the decay timer.
+	 */
+	void decayObserved(int tick)
+	{
+		if (decayPhaseKnown && lastDecayTick == tick)
+		{
+			return;
+		}
+
+		decayPhaseKnown = true;
+		lastDecayTick = tick;
+		rescheduleAll(tick);
+	}
+
+	/**
+	 * Reschedules a skill whose boost in the {@link SkillState} was just seen.
+	 */
+	void update(Skill skill, int threshold, int tick)
+	{
+		observedTicks[skill.ordinal()] = tick;
+		updateThreshold(skill, threshold, tick);
+	}
+
+	/**
+	 * Reschedules a skill whose threshold changed, without its boost having been seen again.
+	 */
+	void updateThreshold(Skill skill, int threshold, int tick)
+	{
+		thresholds[skill.ordinal()] = threshold;
+		schedule(skill, tick);
+		updateNextDueTick();
+	}
+
+	/**
+	 * @return the skill's last seen boost, less the decays since it was seen, which on a skill's predicted
+	 * crossing tick is its threshold
+	 */
+	int predictedBoost(Skill skill, int tick)
+	{
+		int boost = skillState.getBoost(skill);
+		if (!decayPhaseKnown || boost <= 0)
+		{
+			return boost;
+		}
+
+		int interval = preserveActive ? PRESERVE_DECAY_INTERVAL : DECAY_INTERVAL;
+		int decays = Math.floorDiv(tick - lastDecayTick, interval) - Math.floorDiv(observedTicks[skill.ordinal()] - lastDecayTick, interval);
+		return Math.max(boost - decays, 0);
+	}
+
+	/**
+	 * Adds every skill whose predicted crossing is at or before this tick to {@code due}.
+	 *
+	 * @return whether any skill was due
+	 */
+	boolean collectDue(int tick, Set<Skill> due)
+	{
+		if (tick < nextDueTick)
+		{
+			return false;
+		}
+
+		for (int index = 0; index < crossingTicks.length; index++)
+		{
+			if (crossingTicks[index] <= tick)
+			{
+				due.add(SKILLS[index]);
+				crossingTicks[index] = NEVER;
+			}
+		}
+		updateNextDueTick();
+		return true;
+	}
+
+	void clear()
+	{
+		Arrays.fill(crossingTicks, NEVER);
+		decayPhaseKnown = false;
+		nextDueTick = NEVER;
+	}
+
+	private void rescheduleAll(int tick)
+	{
+		for (Skill skill : SkillState.TRACKED_SKILLS)
+		{
+			schedule(skill, tick);
+		}
+		updateNextDueTick();
+	}
+
+	private void schedule(Skill skill, int tick)
+	{
+		int index = skill.ordinal();
+		if (!decayPhaseKnown || !skillState.isBoostKnown(skill))
+		{
+			crossingTicks[index] = NEVER;
+			return;
+		}
+
+		int levelsAboveThreshold = predictedBoost(skill, tick) - thresholds[index];
+		if (levelsAboveThreshold <= 0)
+		{
+			crossingTicks[index] = NEVER;
+			return;
+		}
+
+		int interval = preserveActive ? PRESERVE_DECAY_INTERVAL : DECAY_INTERVAL;
+		int nextDecayTick = lastDecayTick + (Math.floorDiv(tick - lastDecayTick, interval) + 1) * interval;
+		crossingTicks[index] = nextDecayTick + (levelsAboveThreshold - 1) * interval;
+	}
+
+	private void updateNextDueTick()
+	{
+		int next = NEVER;
+		for (int crossingTick : crossingTicks)
+		{
+			next = Math.min(next, crossingTick);
+		}
+		nextDueTick = next;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+
+/**
+ * The largest boost the inventory's boost items would give each tracked skill, and the item giving it.
+ * Rebuilt when the inventory, registry or a real level changes, so each check is an array read.
+ */
+class BoostGainTable
+{
+	private static final int SKILL_COUNT = Skill.values().length;
+
+	private static final int NO_ITEM = -1;
+
+	private final int[] potionBoosts = new int[SKILL_COUNT];
+	private final int[] potionItems = new int[SKILL_COUNT];
+	private int heartBoost;
+	private int heartItem = NO_ITEM;
+
+	void rebuild(PotionRegistry registry, InventoryPotionIndex inventory, SkillState skillState)
+	{
+		for (Skill skill : SkillState.TRACKED_SKILLS)
+		{
+			int categories = categoriesFor(skill);
+			int level = skillState.getLevel(skill);
+			int bestBoost = 0;
+			int bestItem = NO_ITEM;
+			for (int slot = 0; slot < inventory.getSlotCount(); slot++)
+			{
+				int itemId = inventory.getItemId(slot);
+				int boost = registry.provides(itemId, categories) ? registry.boostOf(itemId, level) : 0;
+				if (boost > bestBoost || (bestItem == NO_ITEM && registry.provides(itemId, categories)))
+				{
+					bestBoost = boost;
+					bestItem = itemId;
+				}
+			}
+			potionBoosts[skill.ordinal()] = bestBoost;
+			potionItems[skill.ordinal()] = bestItem;
+		}
+
+		int magicLevel = skillState.getLevel(Skill.MAGIC);
+		heartBoost = 0;
+		heartItem = NO_ITEM;
+		for (int slot = 0; slot < inventory.getSlotCount(); slot++)
+		{
+			int itemId = inventory.getItemId(slot);
+			if (registry.provides(itemId, PotionRegistry.HEART) && (heartItem == NO_ITEM || registry.boostOf(itemId, magicLevel) > heartBoost))
+			{
+				heartBoost = registry.boostOf(itemId, magicLevel);
+				heartItem = itemId;
+			}
+		}
+	}
+
+	/**
+	 * @return the boost the best boost item for the skill would give, counting hearts only when available
+	 */
+	int expectedBoost(Skill skill, boolean heartAvailable)
+	{
+		int boost = potionBoosts[skill.ordinal()];
+		if (skill == Skill.MAGIC && heartAvailable)
+		{
+			boost = Math.max(boost, heartBoost);
+		}
+		return boost;
+	}
+
+	/**
+	 * @return the item giving {@link #expectedBoost}, or -1 if there is none
+	 */
+	int bestItem(Skill skill, boolean heartAvailable)
+	{
+		int item = potionItems[skill.ordinal()];
+		if (skill == Skill.MAGIC && heartAvailable && heartItem != NO_ITEM
+				&& (item == NO_ITEM || heartBoost > potionBoosts[skill.ordinal()]))
+		{
+			return heartItem;
+		}
+		return item;
+	}
+
+	private static int categoriesFor(Skill skill)
+	{
+		switch (skill)
+		{
+			case ATTACK:
+				return PotionRegistry.ATTACK | PotionRegistry.OVERLOAD;
+			case STRENGTH:
+				return PotionRegistry.STRENGTH | PotionRegistry.OVERLOAD;
+			case RANGED:
+				return PotionRegistry.RANGED | PotionRegistry.OVERLOAD;
+			case MAGIC:
+				return PotionRegistry.MAGIC | PotionRegistry.OVERLOAD;
+			default:
+				return PotionRegistry.OVERLOAD;
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Finds any of a fixed set of phrases in a chat message, matching the text the player sees: markup tags
+ * such as {@code <col=ff0000>} are skipped in place rather than stripped into a new string. The phrases are
+ * compiled into an Aho-Corasick automaton over the ASCII characters they use, so a message is scanned once
+ * without allocating, however many phrases there are.
+ */
+class ChatPhraseMatcher
+{
+	private static final int ASCII = 128;
+	private static final int ROOT = 0;
+
+	/**
+	 * Column per character used by a phrase; column 0 is every other character, which always leads back to
+	 * the root.
+	 */
+	private final int[] charColumns;
+	private final int columns;
+	private final int[] transitions;
+	private final boolean[] accepting;
+
+	private ChatPhraseMatcher(int[] charColumns, int columns, int[] transitions, boolean[] accepting)
+	{
+		this.charColumns = charColumns;
+		this.columns = columns;
+		this.transitions = transitions;
+		this.accepting = accepting;
+	}
+
+	static ChatPhraseMatcher of(String... phrases)
+	{
+		int[] charColumns = new int[ASCII];
+		int columns = 1;
+		for (String phrase : phrases)
+		{
+			if (phrase.isEmpty())
+			{
+				throw new IllegalArgumentException("empty phrase");
+			}
+
+			for (int i = 0; i < phrase.length(); i++)
+			{
+				char c = phrase.charAt(i);
+				if (c >= ASCII || c == '<' || c == '>')
+				{
+					throw new IllegalArgumentException("unsupported character in phrase: " + phrase);
+				}
+
+				if (charColumns[c] == 0)
+				{
+					charColumns[c] = columns++;
+				}
+			}
+		}
+
+		// Build the trie, -1 marking a missing edge
+		List<int[]> trie = new ArrayList<>();
+		List<Boolean> ends = new ArrayList<>();
+		trie.add(newState(columns));
+		ends.add(false);
+		for (String phrase : phrases)
+		{
+			int state = ROOT;
+			for (int i = 0; i < phrase.length(); i++)
+			{
+				int column = charColumns[phrase.charAt(i)];
+				if (trie.get(state)[column] < 0)
+				{
+					trie.get(state)[column] = trie.size();
+					trie.add(newState(columns));
+					ends.add(false);
+				}
+				state = trie.get(state)[column];
+			}
+			ends.set(state, true);
+		}
+
+		// Breadth-first over the trie, filling missing edges from each state's failure link
+		int states = trie.size();
+		int[] transitions = new int[states * columns];
+		boolean[] accepting = new boolean[states];
+		int[] failure = new int[states];
+		Queue<Integer> queue = new ArrayDeque<>();
+
+		for (int column = 0; column < columns; column++)
+		{
+			int next = trie.get(ROOT)[column];
+			if (next < 0)
+			{
+				transitions[column] = ROOT;
+			}
+			else
+			{
+				transitions[column] = next;
+				failure[next] = ROOT;
+				queue.add(next);
+			}
+		}
+
+		while (!queue.isEmpty())
+		{
+			int state = queue.poll();
+			accepting[state] = ends.get(state) || accepting[failure[state]];
+
+			for (int column = 0; column < columns; column++)
+			{
+				int next = trie.get(state)[column];
+				int fallback = transitions[failure[state] * columns + column];
+				if (next < 0)
+				{
+					transitions[state * columns + column] = fallback;
+				}
+				else
+				{
+					transitions[state * columns + column] = next;
+					failure[next] = fallback;
+					queue.add(next);
+				}
+			}
+		}
+
+		return new ChatPhraseMatcher(charColumns, columns, transitions, accepting);
+	}
+
+	private static int[] newState(int columns)
+	{
+		int[] edges = new int[columns];
+		Arrays.fill(edges, -1);
+		return edges;
+	}
+
+	/**
+	 * @return whether the message, with its tags removed, contains any of the phrases
+	 */
+	boolean matches(String message)
+	{
+		int state = ROOT;
+		int length = message.length();
+		for (int i = 0; i < length; i++)
+		{
+			char c = message.charAt(i);
+			if (c == '<')
+			{
+				int end = message.indexOf('>', i);
+				if (end < 0)
+				{
+					return false;
+				}
+
+				i = end;
+				continue;
+			}
+
+			int column = c < ASCII ? charColumns[c] : 0;
+			state = transitions[state * columns + column];
+			if (accepting[state])
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
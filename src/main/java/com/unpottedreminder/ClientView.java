@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Actor;
+import net.runelite.api.GameState;
+import net.runelite.api.Item;
+import net.runelite.api.Skill;
+
+import java.util.function.IntPredicate;
+
+/**
+ * The client state the plugin reads while handling events, and the game messages it adds. In the client this
+ * is {@link RuneLiteClientView}; the benchmarks and the replay implement it with plain fields, so what they
+ * measure is the plugin rather than a stubbed client. Must only be used on the client thread.
+ */
+interface ClientView
+{
+	GameState getGameState();
+
+	int getTickCount();
+
+	int getGameCycle();
+
+	boolean isInInstancedRegion();
+
+	/**
+	 * @return the map region the local player is in, with instances resolved to the region they were copied
+	 * from, or -1 if the player isn't loaded
+	 */
+	int getRegionId();
+
+	int getSkillExperience(Skill skill);
+
+	int getRealSkillLevel(Skill skill);
+
+	int getBoostedSkillLevel(Skill skill);
+
+	int getVarbitValue(int varbitId);
+
+	int getVarpValue(int varpId);
+
+	/**
+	 * @return the items in the inventory, or null if it hasn't loaded
+	 */
+	Item[] getInventoryItems();
+
+	/**
+	 * @return whether the local player is interacting with an actor
+	 */
+	boolean isInteracting();
+
+	/**
+	 * @return the name of the actor the local player is interacting with, or null if it has none
+	 */
+	String getInteractingName();
+
+	/**
+	 * @return the id of the NPC the local player is interacting with, or -1 if it has none or it is a player
+	 */
+	int getInteractingNpcId();
+
+	boolean isLocalPlayer(Actor actor);
+
+	/**
+	 * @return whether any of the actor's spot animations has an id matching the predicate
+	 */
+	boolean hasSpotAnim(Actor actor, IntPredicate matches);
+
+	/**
+	 * Adds a game message to the chatbox.
+	 */
+	void addGameMessage(String message);
+}
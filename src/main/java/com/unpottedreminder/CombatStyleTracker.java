@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import lombok.Getter;
+import net.runelite.api.GameState;
+import net.runelite.api.Skill;
+import net.runelite.api.VarPlayer;
+import net.runelite.api.Varbits;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.eventbus.Subscribe;
+
+import javax.inject.Inject;
+
+/**
+ * Follows the varbits that decide which skill a defensive xp drop belongs to, and whether the imbued heart
+ * is off cooldown. The resolved values are kept in fields so the alert path never has to query the client.
+ * <p>
+ * VarbitChanged only fires when a value changes, so a varbit that is still 0 after login would never be seen.
+ * Everything is therefore read again on the first game tick after each login.
+ */
+class CombatStyleTracker
+{
+	private static final int ATTACK_STYLE_DEFENSIVE = 3;
+
+	private final ClientView clientView;
+
+	private int weaponType;
+	private int attackStyle;
+	private int defensiveCasting;
+
+	/**
+	 * The skill whose boost matters when attacking with a defensive style.
+	 */
+	@Getter
+	private Skill defensivePrimarySkill = Skill.STRENGTH;
+
+	@Getter
+	private boolean heartAvailable;
+
+	private boolean refreshPending;
+
+	@Inject
+	CombatStyleTracker(ClientView clientView)
+	{
+		this.clientView = clientView;
+	}
+
+	/**
+	 * Reads every tracked value from the client. Must be called on the client thread.
+	 */
+	void refresh()
+	{
+		weaponType = clientView.getVarbitValue(Varbits.EQUIPPED_WEAPON_TYPE);
+		attackStyle = clientView.getVarpValue(VarPlayer.ATTACK_STYLE);
+		defensiveCasting = clientView.getVarbitValue(Varbits.DEFENSIVE_CASTING_MODE);
+		heartAvailable = clientView.getVarbitValue(Varbits.IMBUED_HEART_COOLDOWN) == 0;
+		defensivePrimarySkill = resolveDefensivePrimarySkill();
+	}
+
+	@Subscribe
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		if (event.getGameState() == GameState.LOGGED_IN)
+		{
+			refreshPending = true;
+		}
+	}
+
+	@Subscribe
+	public void onGameTick(GameTick event)
+	{
+		if (refreshPending)
+		{
+			refreshPending = false;
+			refresh();
+		}
+	}
+
+	@Subscribe
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		int varbitId = event.getVarbitId();
+		if (varbitId == Varbits.EQUIPPED_WEAPON_TYPE)
+		{
+			weaponType = event.getValue();
+		}
+		else if (varbitId == Varbits.DEFENSIVE_CASTING_MODE)
+		{
+			defensiveCasting = event.getValue();
+		}
+		else if (varbitId == Varbits.IMBUED_HEART_COOLDOWN)
+		{
+			heartAvailable = event.getValue() == 0;
+			return;
+		}
+		else if (varbitId == -1 && event.getVarpId() == VarPlayer.ATTACK_STYLE)
+		{
+			attackStyle = event.getValue();
+		}
+		else
+		{
+			return;
+		}
+
+		defensivePrimarySkill = resolveDefensivePrimarySkill();
+	}
+
+	private Skill resolveDefensivePrimarySkill()
+	{
+		if (usingDefensiveMagic())
+			return Skill.MAGIC;
+		if (usingDefensiveRanged())
+			return Skill.RANGED;
+		return Skill.STRENGTH;
+	}
+
+	private boolean usingDefensiveMagic()
+	{
+		if (isPoweredStaff(weaponType) && attackStyle == ATTACK_STYLE_DEFENSIVE)
+		{
+			return true;
+		}
+
+		return isDefensiveCastingWeapon(weaponType) && defensiveCasting == 1;
+	}
+
+	private boolean usingDefensiveRanged()
+	{
+		return isRangedWeapon(weaponType) && attackStyle == ATTACK_STYLE_DEFENSIVE;
+	}
+
+	private static boolean isDefensiveCastingWeapon(int weaponType)
+	{
+		return weaponType == 18 || weaponType == 21;
+	}
+
+	private static boolean isRangedWeapon(int weaponType)
+	{
+		switch (weaponType)
+		{
+			case 3:
+			case 5:
+			case 6:
+			case 7:
+			case 19:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isPoweredStaff(int weaponType)
+	{
+		return weaponType == 23 || weaponType == 24;
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import lombok.Builder;
+import lombok.Value;
+import net.runelite.api.Constants;
+
+import java.awt.*;
+
+/**
+ * Immutable copy of {@link UnpottedReminderConfig}. Reading the config proxy goes through the
+ * ConfigManager on every call, so the plugin and overlay read this instead and it is only rebuilt
+ * when the config changes.
+ */
+@Value
+@Builder
+class ConfigSnapshot
+{
+	boolean enableMelee;
+	MeleeAlertStyle meleeAlertStyle;
+	boolean enableRanged;
+	boolean enableMagic;
+	int meleeBoostThreshold;
+	int rangedBoostThreshold;
+	int magicBoostThreshold;
+	int thresholdHysteresis;
+	int minimumBoostGain;
+	int timeoutTicks;
+	int experienceThreshold;
+	boolean shouldFlash;
+	Color flashColor1;
+	Color flashColor2;
+	boolean showOverlay;
+	AlertDisplayMode alertDisplayMode;
+	boolean shouldNotify;
+	int notifyCooldownTicks;
+	boolean useWhitelist;
+	String whitelist;
+	boolean useBlacklist;
+	String blacklist;
+	boolean alertWhenNotInteracting;
+	boolean onlyInInstances;
+	String alertRegions;
+	String alertMessage;
+	boolean useVialIcon;
+	Color infoBoxTint;
+	String potionOverrides;
+	boolean preRenderOverlay;
+	boolean recordEvents;
+	boolean debugMetrics;
+
+	static ConfigSnapshot from(UnpottedReminderConfig config)
+	{
+		return ConfigSnapshot.builder()
+				.enableMelee(config.enableMelee())
+				.meleeAlertStyle(config.meleeAlertStyle())
+				.enableRanged(config.enableRanged())
+				.enableMagic(config.enableMagic())
+				.meleeBoostThreshold(config.meleeBoostThreshold())
+				.rangedBoostThreshold(config.rangedBoostThreshold())
+				.magicBoostThreshold(config.magicBoostThreshold())
+				.thresholdHysteresis(config.thresholdHysteresis())
+				.minimumBoostGain(config.minimumBoostGain())
+				.timeoutTicks(secondsToTicks(config.timeout()))
+				.experienceThreshold(config.experienceThreshold())
+				.shouldFlash(config.shouldFlash())
+				.flashColor1(config.flashColor1())
+				.flashColor2(config.flashColor2())
+				.showOverlay(config.showOverlay())
+				.alertDisplayMode(config.alertDisplayMode())
+				.shouldNotify(config.shouldNotify())
+				.notifyCooldownTicks(secondsToTicks(config.notifyCooldown()))
+				.useWhitelist(config.useWhitelist())
+				.whitelist(config.whitelist())
+				.useBlacklist(config.useBlacklist())
+				.blacklist(config.blacklist())
+				.alertWhenNotInteracting(config.alertWhenNotInteracting())
+				.onlyInInstances(config.onlyInInstances())
+				.alertRegions(config.alertRegions())
+				.alertMessage(UnpottedReminderPlugin.resolveAlertMessage(config))
+				.useVialIcon(config.useVialIcon())
+				.infoBoxTint(config.infoBoxTint())
+				.potionOverrides(config.potionOverrides())
+				.preRenderOverlay(config.preRenderOverlay())
+				.recordEvents(config.recordEvents())
+				.debugMetrics(config.debugMetrics())
+				.build();
+	}
+
+	/**
+	 * Rounds up, so a timeout never ends earlier than the configured number of seconds.
+	 */
+	static int secondsToTicks(int seconds)
+	{
+		return (seconds * 1000 + Constants.GAME_TICK_LENGTH - 1) / Constants.GAME_TICK_LENGTH;
+	}
+
+	boolean isAnyStyleEnabled()
+	{
+		return enableMelee || enableRanged || enableMagic;
+	}
+}
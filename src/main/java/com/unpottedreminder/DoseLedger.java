@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+/**
+ * Learns how many doses the player drinks per boost cycle and how many ticks pass between cycles, to
+ * project how many more cycles the doses left in the inventory will last.
+ */
+class DoseLedger
+{
+	/**
+	 * Drinks this close together are one boost cycle.
+	 */
+	private static final int SAME_CYCLE_TICKS = 5;
+	private static final int INTERVAL_SAMPLES = 8;
+	static final int UNKNOWN = -1;
+
+	private int drinks;
+	private int cycles;
+	private int lastDrinkTick;
+	private int cycleStartTick;
+
+	private final int[] intervals = new int[INTERVAL_SAMPLES];
+	private int intervalCount;
+	private int intervalTotal;
+
+	void drinkObserved(int tick)
+	{
+		if (drinks == 0 || tick - lastDrinkTick > SAME_CYCLE_TICKS)
+		{
+			if (cycles > 0)
+			{
+				addInterval(tick - cycleStartTick);
+			}
+			cycles++;
+			cycleStartTick = tick;
+		}
+
+		drinks++;
+		lastDrinkTick = tick;
+	}
+
+	/**
+	 * @return how many boost cycles the doses last at the observed doses per cycle, one dose each until
+	 * a drink has been seen
+	 */
+	int cyclesLeft(int doses)
+	{
+		if (cycles == 0)
+		{
+			return doses;
+		}
+		return doses * cycles / drinks;
+	}
+
+	/**
+	 * @return the average ticks between the starts of recent boost cycles, or {@link #UNKNOWN} before two
+	 * cycles have been seen
+	 */
+	int getTicksPerCycle()
+	{
+		int samples = Math.min(intervalCount, INTERVAL_SAMPLES);
+		return samples == 0 ? UNKNOWN : intervalTotal / samples;
+	}
+
+	void clear()
+	{
+		drinks = 0;
+		cycles = 0;
+		intervalCount = 0;
+		intervalTotal = 0;
+	}
+
+	private void addInterval(int ticks)
+	{
+		int slot = intervalCount % INTERVAL_SAMPLES;
+		if (intervalCount >= INTERVAL_SAMPLES)
+		{
+			intervalTotal -= intervals[slot];
+		}
+		intervals[slot] = ticks;
+		intervalTotal += ticks;
+		intervalCount++;
+	}
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ActorSpotAnim;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.Skill;
+import net.runelite.api.VarPlayer;
+import net.runelite.api.Varbits;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GraphicChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.awt.*;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the events the plugin reacts to, the client state it reads while handling them, and the alert
+ * decisions it makes, to a compact gzipped binary log. The log can be replayed offline to measure
+ * throughput and to check that decisions and their timing are unchanged.
+ * <p>
+ * The log starts with {@link #MAGIC}, {@link #VERSION} and the config values in use as key and value pairs,
+ * followed by records of a type byte, the client game cycle and a type-specific payload. Config values are
+ * keyed by their config key, except the timeout and notify cooldown, which are recorded in ticks as
+ * {@code timeoutTicks} and {@code notifyCooldownTicks}.
+ * <p>
+ * Records are encoded into a buffer on the client thread. Full buffers are handed to the writer, which opens,
+ * writes and closes the file, so the client thread never waits on the disk. The writer must run tasks in
+ * order, one at a time, as the client's scheduled executor does.
+ */
+@Slf4j
+class EventRecorder
+{
+	static final int MAGIC = 0x55505254;
+	static final int VERSION = 4;
+
+	static final byte TICK = 1;
+	static final byte STAT = 2;
+	static final byte INVENTORY = 3;
+	static final byte CHAT = 4;
+	static final byte GRAPHIC = 5;
+	static final byte VARBIT = 6;
+	static final byte ALERT = 7;
+	static final byte CLEAR = 8;
+	static final byte EXPERIENCE = 9;
+	static final byte GAME_STATE = 10;
+
+	static final byte TARGET_NONE = 0;
+	static final byte TARGET_NPC = 1;
+	static final byte TARGET_PLAYER = 2;
+
+	/**
+	 * Recorded before the plugin's own subscribers, so the client state captured alongside an event is the
+	 * state the plugin sees when handling it.
+	 */
+	private static final float PRIORITY = 100;
+
+	/**
+	 * Size at which the buffered records are handed to the writer.
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	private static final int[] TRACKED_VARBITS = {
+			Varbits.EQUIPPED_WEAPON_TYPE, Varbits.DEFENSIVE_CASTING_MODE, Varbits.IMBUED_HEART_COOLDOWN, Varbits.PRAYER_PRESERVE,
+	};
+
+	private final ClientView clientView;
+	private final Executor writer;
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(CHUNK_SIZE * 2);
+	private final DataOutputStream out = new DataOutputStream(buffer);
+
+	/**
+	 * Only touched by the writer.
+	 */
+	private OutputStream sink;
+	private volatile boolean failed;
+
+	/**
+	 * @param opener opens the stream the log is written to; called by the writer
+	 */
+	EventRecorder(ClientView clientView, Callable<OutputStream> opener, Executor writer)
+	{
+		this.clientView = clientView;
+		this.writer = writer;
+		writer.execute(() ->
+		{
+			try
+			{
+				sink = opener.call();
+			}
+			catch (Exception e)
+			{
+				failed = true;
+				log.warn("Unable to open event recording", e);
+			}
+		});
+	}
+
+	/**
+	 * Starts a gzipped recording to the file, creating its directory if needed. The file is opened by the
+	 * writer.
+	 */
+	static EventRecorder open(ClientView clientView, File file, ConfigSnapshot config, Executor writer) throws IOException
+	{
+		EventRecorder recorder = new EventRecorder(clientView, () ->
+		{
+			file.getParentFile().mkdirs();
+			return new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file)));
+		}, writer);
+		recorder.writeHeader(config);
+		return recorder;
+	}
+
+	/**
+	 * Records the client state the plugin reads when it starts: the followed varbits, the inventory and the
+	 * experience and levels of the tracked skills. Must be called on the client thread.
+	 */
+	void recordClientState(Iterable<Skill> skills)
+	{
+		for (int varbitId : TRACKED_VARBITS)
+		{
+			writeVarbit(-1, varbitId, clientView.getVarbitValue(varbitId));
+		}
+		writeVarbit(VarPlayer.ATTACK_STYLE, -1, clientView.getVarpValue(VarPlayer.ATTACK_STYLE));
+
+		Item[] items = clientView.getInventoryItems();
+		if (items != null)
+		{
+			writeInventory(items);
+		}
+
+		try
+		{
+			for (Skill skill : skills)
+			{
+				begin(EXPERIENCE);
+				out.writeByte(skill.ordinal());
+				out.writeInt(clientView.getSkillExperience(skill));
+				out.writeShort(clientView.getRealSkillLevel(skill));
+				out.writeShort(clientView.getBoostedSkillLevel(skill));
+			}
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	/**
+	 * Hands the remaining records to the writer and has it close the file. Must be called on the client
+	 * thread.
+	 */
+	void close()
+	{
+		handOff();
+		writer.execute(() ->
+		{
+			if (sink == null)
+			{
+				return;
+			}
+
+			try
+			{
+				sink.close();
+			}
+			catch (IOException e)
+			{
+				log.warn("Unable to close event recording", e);
+			}
+		});
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameTick(GameTick event)
+	{
+		try
+		{
+			begin(TICK);
+			out.writeInt(clientView.getTickCount());
+			out.writeBoolean(clientView.isInInstancedRegion());
+			out.writeInt(clientView.getRegionId());
+
+			if (!clientView.isInteracting())
+			{
+				out.writeByte(TARGET_NONE);
+			}
+			else
+			{
+				int npcId = clientView.getInteractingNpcId();
+				String name = clientView.getInteractingName();
+				out.writeByte(npcId >= 0 ? TARGET_NPC : TARGET_PLAYER);
+				out.writeInt(npcId);
+				out.writeUTF(name != null ? name : "");
+			}
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		try
+		{
+			begin(GAME_STATE);
+			out.writeUTF(event.getGameState().name());
+			out.writeBoolean(clientView.isInInstancedRegion());
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onStatChanged(StatChanged event)
+	{
+		try
+		{
+			begin(STAT);
+			out.writeByte(event.getSkill().ordinal());
+			out.writeInt(event.getXp());
+			out.writeShort(event.getLevel());
+			out.writeShort(event.getBoostedLevel());
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onItemContainerChanged(ItemContainerChanged event)
+	{
+		if (event.getContainerId() != InventoryID.INVENTORY.getId())
+		{
+			return;
+		}
+
+		writeInventory(event.getItemContainer().getItems());
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onChatMessage(ChatMessage event)
+	{
+		try
+		{
+			begin(CHAT);
+			out.writeUTF(event.getType().name());
+			out.writeUTF(event.getMessage());
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onGraphicChanged(GraphicChanged event)
+	{
+		try
+		{
+			List<Integer> spotAnims = new ArrayList<>();
+			for (ActorSpotAnim spotAnim : event.getActor().getSpotAnims())
+			{
+				spotAnims.add(spotAnim.getId());
+			}
+
+			begin(GRAPHIC);
+			out.writeBoolean(clientView.isLocalPlayer(event.getActor()));
+			out.writeByte(spotAnims.size());
+			for (int spotAnim : spotAnims)
+			{
+				out.writeInt(spotAnim);
+			}
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	@Subscribe(priority = PRIORITY)
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		boolean tracked = event.getVarbitId() == -1 && event.getVarpId() == VarPlayer.ATTACK_STYLE;
+		for (int varbitId : TRACKED_VARBITS)
+		{
+			tracked |= event.getVarbitId() == varbitId;
+		}
+
+		if (tracked)
+		{
+			writeVarbit(event.getVarpId(), event.getVarbitId(), event.getValue());
+		}
+	}
+
+	void recordAlert(Set<Skill> skills)
+	{
+		int skillMask = 0;
+		for (Skill skill : skills)
+		{
+			skillMask |= 1 << skill.ordinal();
+		}
+
+		try
+		{
+			begin(ALERT);
+			out.writeInt(clientView.getTickCount());
+			out.writeInt(skillMask);
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	void recordClear(AlertState previousState, AlertState nextState)
+	{
+		try
+		{
+			begin(CLEAR);
+			out.writeInt(clientView.getTickCount());
+			out.writeByte(previousState.ordinal());
+			out.writeByte(nextState.ordinal());
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	private void writeHeader(ConfigSnapshot config) throws IOException
+	{
+		Object[][] values = {
+				{"enableMelee", config.isEnableMelee()},
+				{"meleeAlertStyle", config.getMeleeAlertStyle()},
+				{"enableRanged", config.isEnableRanged()},
+				{"enableMagic", config.isEnableMagic()},
+				{"meleeBoostThreshold", config.getMeleeBoostThreshold()},
+				{"rangedBoostThreshold", config.getRangedBoostThreshold()},
+				{"magicBoostThreshold", config.getMagicBoostThreshold()},
+				{"thresholdHysteresis", config.getThresholdHysteresis()},
+				{"minimumBoostGain", config.getMinimumBoostGain()},
+				{"timeoutTicks", config.getTimeoutTicks()},
+				{"experienceThreshold", config.getExperienceThreshold()},
+				{"shouldFlash", config.isShouldFlash()},
+				{"flashColor1", config.getFlashColor1()},
+				{"flashColor2", config.getFlashColor2()},
+				{"showOverlay", config.isShowOverlay()},
+				{"alertDisplayMode", config.getAlertDisplayMode()},
+				{"shouldNotify", config.isShouldNotify()},
+				{"notifyCooldownTicks", config.getNotifyCooldownTicks()},
+				{"useWhitelist", config.isUseWhitelist()},
+				{"whitelist", config.getWhitelist()},
+				{"useBlacklist", config.isUseBlacklist()},
+				{"blacklist", config.getBlacklist()},
+				{"alertWhenNotInteracting", config.isAlertWhenNotInteracting()},
+				{"onlyInInstances", config.isOnlyInInstances()},
+				{"alertRegions", config.getAlertRegions()},
+				{"alertMessage", config.getAlertMessage()},
+				{"useVialIcon", config.isUseVialIcon()},
+				{"infoBoxTint", config.getInfoBoxTint()},
+				{"potionOverrides", config.getPotionOverrides()},
+		};
+
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeShort(values.length);
+		for (Object[] value : values)
+		{
+			out.writeUTF((String) value[0]);
+			out.writeUTF(configValueToString(value[1]));
+		}
+	}
+
+	private void writeInventory(Item[] items)
+	{
+		try
+		{
+			begin(INVENTORY);
+			out.writeByte(items.length);
+			for (Item item : items)
+			{
+				out.writeInt(item.getId());
+				out.writeInt(item.getQuantity());
+			}
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	private void writeVarbit(int varpId, int varbitId, int value)
+	{
+		try
+		{
+			begin(VARBIT);
+			out.writeInt(varpId);
+			out.writeInt(varbitId);
+			out.writeInt(value);
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+
+	private void begin(byte type) throws IOException
+	{
+		if (buffer.size() >= CHUNK_SIZE)
+		{
+			handOff();
+		}
+
+		out.writeByte(type);
+		out.writeInt(clientView.getGameCycle());
+	}
+
+	private void handOff()
+	{
+		if (failed || buffer.size() == 0)
+		{
+			buffer.reset();
+			return;
+		}
+
+		byte[] chunk = buffer.toByteArray();
+		buffer.reset();
+		writer.execute(() ->
+		{
+			if (sink == null)
+			{
+				return;
+			}
+
+			try
+			{
+				sink.write(chunk);
+			}
+			catch (IOException e)
+			{
+				fail(e);
+			}
+		});
+	}
+
+	private void fail(IOException e)
+	{
+		if (!failed)
+		{
+			failed = true;
+			log.warn("Unable to write event recording", e);
+		}
+	}
+
+	static String configValueToString(Object value)
+	{
+		if (value instanceof Color)
+		{
+			return String.valueOf(((Color) value).getRGB());
+		}
+		if (value instanceof Enum)
+		{
+			return ((Enum<?>) value).name();
+		}
+		return String.valueOf(value);
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Item;
+import net.runelite.api.gameval.ItemID;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which kinds of boost item are in the inventory, and how many doses of each are left. The counts
+ * are kept up to date by diffing each inventory update against the previous one and only adjusting the
+ * changed slots, so checking for a potion is a single array read. The same diff tells when a dose was drunk.
+ */
+class InventoryPotionIndex
+{
+	private static final int EMPTY_SLOT = -1;
+
+	private PotionRegistry registry;
+	private final int[] counts = new int[PotionRegistry.CATEGORY_COUNT];
+	private final int[] doses = new int[PotionRegistry.CATEGORY_COUNT];
+	private int totalDoses;
+	private int[] itemIds = new int[0];
+	private int lastDosesRemoved;
+
+	InventoryPotionIndex(PotionRegistry registry)
+	{
+		this.registry = registry;
+	}
+
+	/**
+	 * Switches to a new registry. The index is cleared, so it must be updated with the inventory again.
+	 */
+	void setRegistry(PotionRegistry registry)
+	{
+		this.registry = registry;
+		clear();
+	}
+
+	/**
+	 * @return how many doses of boost items were drunk: slots whose potion was replaced by its next lower
+	 * dose, or by an empty vial after its last dose. These only count if the doses in the inventory dropped by
+	 * as many, so moving potions between slots isn't drinking them.
+	 */
+	int update(Item[] items)
+	{
+		int slots = Math.max(itemIds.length, items.length);
+		if (itemIds.length < slots)
+		{
+			int oldLength = itemIds.length;
+			itemIds = Arrays.copyOf(itemIds, slots);
+			Arrays.fill(itemIds, oldLength, slots, EMPTY_SLOT);
+		}
+
+		int previousDoses = totalDoses;
+		int dosesDrunk = 0;
+		lastDosesRemoved = 0;
+		for (int slot = 0; slot < slots; slot++)
+		{
+			int newId = slot < items.length ? items[slot].getId() : EMPTY_SLOT;
+			int oldId = itemIds[slot];
+			if (newId == oldId)
+			{
+				continue;
+			}
+
+			if (isDoseDrunk(oldId, newId))
+			{
+				dosesDrunk++;
+			}
+			else if (registry.dosesOf(oldId) == 1 && registry.categoriesOf(newId) == 0)
+			{
+				lastDosesRemoved++;
+			}
+			adjust(oldId, -1);
+			adjust(newId, 1);
+			itemIds[slot] = newId;
+		}
+
+		if (previousDoses - totalDoses != dosesDrunk + lastDosesRemoved)
+		{
+			lastDosesRemoved = 0;
+			return 0;
+		}
+		return dosesDrunk;
+	}
+
+	/**
+	 * @return how many slots lost the last dose of a boost item in the last update without leaving an empty
+	 * vial. Potions that break their vial or aren't bottled look the same as a dropped or banked potion, so
+	 * these are only drinks if the game also reported one.
+	 */
+	int getLastDosesRemoved()
+	{
+		return lastDosesRemoved;
+	}
+
+	int getSlotCount()
+	{
+		return itemIds.length;
+	}
+
+	/**
+	 * @return the item in the slot as of the last update, or -1 if it is empty
+	 */
+	int getItemId(int slot)
+	{
+		return itemIds[slot];
+	}
+
+	boolean has(int category)
+	{
+		return counts[Integer.numberOfTrailingZeros(category)] > 0;
+	}
+
+	/**
+	 * @return the doses left across the items of the category
+	 */
+	int getDoses(int category)
+	{
+		return doses[Integer.numberOfTrailingZeros(category)];
+	}
+
+	boolean hasAny()
+	{
+		for (int count : counts)
+		{
+			if (count > 0)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	void clear()
+	{
+		Arrays.fill(counts, 0);
+		Arrays.fill(doses, 0);
+		totalDoses = 0;
+		itemIds = new int[0];
+		lastDosesRemoved = 0;
+	}
+
+	private boolean isDoseDrunk(int oldId, int newId)
+	{
+		int oldDoses = registry.dosesOf(oldId);
+		if (oldDoses == 1)
+		{
+			return newId == ItemID.VIAL_EMPTY;
+		}
+		return oldDoses > 1 && registry.isSameBoost(oldId, newId) && registry.dosesOf(newId) == oldDoses - 1;
+	}
+
+	private void adjust(int itemId, int delta)
+	{
+		int categories = registry.categoriesOf(itemId);
+		int itemDoses = categories != 0 ? registry.dosesOf(itemId) : 0;
+		totalDoses += delta * itemDoses;
+		while (categories != 0)
+		{
+			int category = Integer.numberOfTrailingZeros(categories);
+			counts[category] += delta;
+			doses[category] += delta * itemDoses;
+			categories &= categories - 1;
+		}
+	}
+}
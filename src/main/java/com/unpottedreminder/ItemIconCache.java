@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Constants;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.util.AsyncBufferedImage;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Item icons with a colour tint applied, made once per item and tint. The icon is returned straight away
+ * and painted in place when {@link ItemManager} finishes loading the item image, after which the painted
+ * listener is called with it. Holds a handful of icons, least recently used first out, and is cleared on
+ * config change since the infobox tint comes from the config.
+ */
+class ItemIconCache
+{
+	private static final int MAX_SIZE = 16;
+
+	private final ItemManager itemManager;
+	private final Consumer<BufferedImage> paintedListener;
+	private final Map<Long, BufferedImage> icons = new LinkedHashMap<Long, BufferedImage>(MAX_SIZE, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest)
+		{
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * @param paintedListener called with an icon once it has been painted, which may be before {@link #get}
+	 * returns it
+	 */
+	ItemIconCache(ItemManager itemManager, Consumer<BufferedImage> paintedListener)
+	{
+		this.itemManager = itemManager;
+		this.paintedListener = paintedListener;
+	}
+
+	/**
+	 * @param tint painted over the icon at half its alpha, or null for the plain icon
+	 */
+	BufferedImage get(int itemId, Color tint)
+	{
+		long key = (long) itemId << 32 | (tint != null ? tint.getRGB() & 0xFFFFFFFFL : 0);
+		BufferedImage icon = icons.get(key);
+		if (icon == null)
+		{
+			icon = new BufferedImage(Constants.ITEM_SPRITE_WIDTH, Constants.ITEM_SPRITE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+			AsyncBufferedImage source = itemManager.getImage(itemId);
+			BufferedImage target = icon;
+			source.onLoaded(() ->
+			{
+				paint(target, source, tint);
+				paintedListener.accept(target);
+			});
+			icons.put(key, icon);
+		}
+		return icon;
+	}
+
+	void clear()
+	{
+		icons.clear();
+	}
+
+	private static void paint(BufferedImage target, BufferedImage source, Color tint)
+	{
+		Graphics2D graphics = target.createGraphics();
+		graphics.setComposite(AlphaComposite.Src);
+		graphics.drawImage(source, 0, 0, null);
+		if (tint != null)
+		{
+			graphics.setComposite(AlphaComposite.SrcAtop);
+			graphics.setColor(new Color(tint.getRed(), tint.getGreen(), tint.getBlue(), tint.getAlpha() / 2));
+			graphics.fillRect(0, 0, target.getWidth(), target.getHeight());
+		}
+		graphics.dispose();
+	}
+}
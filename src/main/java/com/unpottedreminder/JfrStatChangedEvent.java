@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Flight recorder event for a tracked {@link net.runelite.api.events.StatChanged}.
+ * Disabled by default; enable com.unpottedreminder.* in the recording settings.
+ */
+@Name("com.unpottedreminder.StatChanged")
+@Label("Stat Changed")
+@Category({"RuneLite", "Unpotted Reminder"})
+@Description("A boosted stat changed and was queued for, or excluded from, evaluation")
+@Enabled(false)
+@StackTrace(false)
+class JfrStatChangedEvent extends jdk.jfr.Event
+{
+	/**
+	 * What the plugin did with the stat change. Recorded by its label.
+	 */
+	@RequiredArgsConstructor
+	enum Outcome
+	{
+		QUEUED("Queued"),
+		SUPPRESSED("Suppressed"),
+		DRINKING("Drinking"),
+		UNTRACKED("Untracked");
+
+		private final String label;
+
+		@Override
+		public String toString()
+		{
+			return label;
+		}
+	}
+
+	@Label("Skill")
+	String skill;
+
+	@Label("Boost")
+	int boost;
+
+	@Label("Outcome")
+	String outcome;
+
+	@Label("Suppression Reason")
+	String reason;
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import java.util.Arrays;
+
+/**
+ * A histogram with power-of-two buckets. Recording is a couple of array operations and never allocates;
+ * percentiles are reported as the upper bound of the bucket they fall in.
+ */
+class LatencyHistogram
+{
+	private final long[] buckets = new long[Long.SIZE + 1];
+	private long count;
+	private long max;
+
+	void record(long value)
+	{
+		value = Math.max(value, 0);
+		buckets[Long.SIZE - Long.numberOfLeadingZeros(value)]++;
+		count++;
+		max = Math.max(max, value);
+	}
+
+	long getCount()
+	{
+		return count;
+	}
+
+	long getMax()
+	{
+		return max;
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 */
+	long percentile(double percentile)
+	{
+		if (count == 0)
+		{
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(count * percentile / 100);
+		long seen = 0;
+		for (int bucket = 0; bucket < buckets.length; bucket++)
+		{
+			seen += buckets[bucket];
+			if (seen >= Math.max(rank, 1))
+			{
+				return bucket == 0 ? 0 : Math.min((1L << bucket) - 1, max);
+			}
+		}
+		return max;
+	}
+
+	void reset()
+	{
+		Arrays.fill(buckets, 0);
+		count = 0;
+		max = 0;
+	}
+}
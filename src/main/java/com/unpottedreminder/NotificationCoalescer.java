@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+import net.runelite.client.Notifier;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Coalesces alert notifications. Alerts only add their styles to the pending notification, which the
+ * plugin flushes once per game tick, so at most one notification is sent per tick. Alerts raised while the
+ * notify cooldown is running are merged into a single notification, sent once the cooldown ends, that names
+ * every unpotted style.
+ * <p>
+ * Notifications are sent synchronously on the client thread: {@link Notifier#notify} posts an event to other
+ * plugins' subscribers, which expect to run there. The alert latency of the notified skills is recorded as
+ * each notification is sent.
+ */
+class NotificationCoalescer
+{
+	private final Notifier notifier;
+	private final PluginMetrics metrics;
+
+	private final EnumSet<Skill> pendingSkills = EnumSet.noneOf(Skill.class);
+	private final EnumSet<BoostStyle> pendingStyles = EnumSet.noneOf(BoostStyle.class);
+	private String pendingMessage;
+	private int cooldownTicks;
+	private int nextNotifyTick = Integer.MIN_VALUE;
+
+	NotificationCoalescer(Notifier notifier, PluginMetrics metrics)
+	{
+		this.notifier = notifier;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Adds the styles of the alerted skills to the pending notification, and replaces its message.
+	 *
+	 * @return whether a flush on this tick will send it, false if the cooldown is running
+	 */
+	boolean offer(Collection<Skill> alertedSkills, String message, int cooldownTicks, int tick)
+	{
+		pendingSkills.addAll(alertedSkills);
+		for (Skill skill : alertedSkills)
+		{
+			pendingStyles.add(BoostStyle.of(skill));
+		}
+		pendingMessage = message;
+		this.cooldownTicks = cooldownTicks;
+		return tick >= nextNotifyTick;
+	}
+
+	/**
+	 * Sends the pending notification if there is one and the cooldown has run out.
+	 *
+	 * @return whether a notification was sent
+	 */
+	boolean flush(int tick)
+	{
+		if (pendingStyles.isEmpty() || tick < nextNotifyTick)
+		{
+			return false;
+		}
+
+		String text = format(pendingMessage, pendingStyles);
+		pendingStyles.clear();
+		nextNotifyTick = tick + cooldownTicks;
+		notifier.notify(text);
+		metrics.alerted(pendingSkills, tick);
+		pendingSkills.clear();
+		return true;
+	}
+
+	/**
+	 * Drops the pending notification, keeping the cooldown.
+	 */
+	void cancel()
+	{
+		pendingSkills.clear();
+		pendingStyles.clear();
+	}
+
+	void clear()
+	{
+		pendingSkills.clear();
+		pendingStyles.clear();
+		nextNotifyTick = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * @return the message, followed by the styles when more than one was merged into it
+	 */
+	static String format(String message, Collection<BoostStyle> styles)
+	{
+		if (styles.size() < 2)
+		{
+			return message;
+		}
+
+		StringBuilder builder = new StringBuilder(message).append(" (");
+		boolean first = true;
+		for (BoostStyle style : styles)
+		{
+			if (!first)
+				builder.append(", ");
+
+			builder.append(style.getName());
+			first = false;
+		}
+		return builder.append(')').toString();
+	}
+}
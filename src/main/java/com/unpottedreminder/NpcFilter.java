@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import java.util.regex.Pattern;
+
+/**
+ * The NPC whitelist and blacklist compiled into one pattern each, with the same wildcard semantics as
+ * {@link net.runelite.client.util.WildcardMatcher}. Verdicts are cached by target name in a small
+ * direct-mapped table, so repeated hits on the same target skip the regex entirely. The cache is keyed on
+ * the name rather than the NPC id, as multi-form NPCs keep their id but change name when they transform.
+ * A new filter is compiled on every config change, which also drops the cache.
+ */
+class NpcFilter
+{
+	private static final int CACHE_SIZE = 64;
+
+	private final boolean useWhitelist;
+	private final boolean useBlacklist;
+	private final Pattern whitelist;
+	private final Pattern blacklist;
+
+	private final String[] cachedNames = new String[CACHE_SIZE];
+	private final boolean[] cachedVerdicts = new boolean[CACHE_SIZE];
+
+	private NpcFilter(boolean useWhitelist, Pattern whitelist, boolean useBlacklist, Pattern blacklist)
+	{
+		this.useWhitelist = useWhitelist;
+		this.whitelist = whitelist;
+		this.useBlacklist = useBlacklist;
+		this.blacklist = blacklist;
+	}
+
+	static NpcFilter compile(ConfigSnapshot config)
+	{
+		return new NpcFilter(
+				config.isUseWhitelist(), compileList(config.getWhitelist()),
+				config.isUseBlacklist(), compileList(config.getBlacklist()));
+	}
+
+	/**
+	 * @param name the target's name; for an NPC, the name of its current composition
+	 */
+	boolean allows(String name)
+	{
+		if (name == null || (!useWhitelist && !useBlacklist))
+		{
+			return matchesLists(name);
+		}
+
+		int slot = name.hashCode() & (CACHE_SIZE - 1);
+		String cachedName = cachedNames[slot];
+		if (cachedName != name && !name.equals(cachedName))
+		{
+			cachedVerdicts[slot] = matchesLists(name);
+			cachedNames[slot] = name;
+		}
+		return cachedVerdicts[slot];
+	}
+
+	private boolean matchesLists(String name)
+	{
+		if (name == null)
+		{
+			return !useWhitelist;
+		}
+
+		boolean isWhitelisted = !useWhitelist || matches(whitelist, name);
+		boolean isBlacklisted = useBlacklist && matches(blacklist, name);
+		return isWhitelisted && !isBlacklisted;
+	}
+
+	private static boolean matches(Pattern pattern, String name)
+	{
+		return pattern != null && pattern.matcher(name).matches();
+	}
+
+	private static Pattern compileList(String list)
+	{
+		StringBuilder regex = new StringBuilder();
+		for (String entry : list.split(","))
+		{
+			entry = entry.trim();
+			if (entry.isEmpty())
+			{
+				continue;
+			}
+
+			if (regex.length() > 0)
+			{
+				regex.append('|');
+			}
+
+			regex.append("(?:");
+			int start = 0;
+			int wildcard;
+			while ((wildcard = entry.indexOf('*', start)) != -1)
+			{
+				if (wildcard > start)
+				{
+					regex.append(Pattern.quote(entry.substring(start, wildcard)));
+				}
+				regex.append(".*");
+				start = wildcard + 1;
+			}
+			if (start < entry.length())
+			{
+				regex.append(Pattern.quote(entry.substring(start)));
+			}
+			regex.append(')');
+		}
+
+		return regex.length() == 0 ? null : Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.Skill;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counters and histograms describing what the plugin costs: events handled, time spent deciding whether to
+ * alert and rendering the overlay, ticks from a boost dropping to its threshold until the player is told,
+ * and why alerts were suppressed. Nothing is recorded unless enabled, so the cost when off is one branch.
+ */
+class PluginMetrics
+{
+	enum Handler
+	{
+		STAT_CHANGED,
+		GAME_TICK,
+		CHAT_MESSAGE,
+		GRAPHIC_CHANGED,
+		ITEM_CONTAINER_CHANGED,
+	}
+
+	private static final Handler[] HANDLERS = Handler.values();
+	private static final SuppressionReason[] SUPPRESSION_REASONS = SuppressionReason.values();
+	private static final int NOT_LOW = -1;
+
+	@Getter
+	@Setter
+	private boolean enabled;
+
+	private final long[] handlerCounts = new long[HANDLERS.length];
+	private final long[] suppressions = new long[SUPPRESSION_REASONS.length];
+	private final int[] lowSinceTick = new int[Skill.values().length];
+
+	@Getter
+	private final LatencyHistogram decisionNanos = new LatencyHistogram();
+	@Getter
+	private final LatencyHistogram renderNanos = new LatencyHistogram();
+	@Getter
+	private final LatencyHistogram alertLatencyTicks = new LatencyHistogram();
+
+	PluginMetrics()
+	{
+		Arrays.fill(lowSinceTick, NOT_LOW);
+	}
+
+	void handled(Handler handler)
+	{
+		if (enabled)
+		{
+			handlerCounts[handler.ordinal()]++;
+		}
+	}
+
+	void suppressed(SuppressionReason reason, int skills)
+	{
+		if (enabled)
+		{
+			suppressions[reason.ordinal()] += skills;
+		}
+	}
+
+	void boostLow(Skill skill, int tick)
+	{
+		if (enabled && lowSinceTick[skill.ordinal()] == NOT_LOW)
+		{
+			lowSinceTick[skill.ordinal()] = tick;
+		}
+	}
+
+	void boostRecovered(Skill skill)
+	{
+		lowSinceTick[skill.ordinal()] = NOT_LOW;
+	}
+
+	/**
+	 * Records the alert latency for each skill alerted for the first time since its boost dropped. Called when
+	 * the notification is sent, or when the alert is raised if notifications are off.
+	 */
+	void alerted(Iterable<Skill> skills, int tick)
+	{
+		if (!enabled)
+		{
+			return;
+		}
+
+		for (Skill skill : skills)
+		{
+			int since = lowSinceTick[skill.ordinal()];
+			if (since != NOT_LOW)
+			{
+				alertLatencyTicks.record(tick - since);
+				lowSinceTick[skill.ordinal()] = NOT_LOW;
+			}
+		}
+	}
+
+	void reset()
+	{
+		Arrays.fill(handlerCounts, 0);
+		Arrays.fill(suppressions, 0);
+		Arrays.fill(lowSinceTick, NOT_LOW);
+		decisionNanos.reset();
+		renderNanos.reset();
+		alertLatencyTicks.reset();
+	}
+
+	/**
+	 * @return label and value pairs describing the current metrics
+	 */
+	List<String[]> describe()
+	{
+		List<String[]> lines = new ArrayList<>();
+		for (Handler handler : HANDLERS)
+		{
+			lines.add(new String[]{handler.name().toLowerCase().replace('_', ' '), String.valueOf(handlerCounts[handler.ordinal()])});
+		}
+		lines.add(new String[]{"decision p50/p99/max", describe(decisionNanos, "ns")});
+		lines.add(new String[]{"render p50/p99/max", describe(renderNanos, "ns")});
+		lines.add(new String[]{"alert latency p50/p99/max", describe(alertLatencyTicks, " ticks")});
+		for (SuppressionReason reason : SUPPRESSION_REASONS)
+		{
+			lines.add(new String[]{"suppressed: " + reason, String.valueOf(suppressions[reason.ordinal()])});
+		}
+		return lines;
+	}
+
+	private static String describe(LatencyHistogram histogram, String unit)
+	{
+		return histogram.percentile(50) + "/" + histogram.percentile(99) + "/" + histogram.getMax() + unit
+				+ " (n=" + histogram.getCount() + ")";
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads the boost items from the bundled {@code potions.csv}, followed by the rows from the potion overrides
+ * setting, and compiles them into a {@link PotionRegistry}. Reading the resource is done off the client
+ * thread. Invalid rows are logged and skipped.
+ */
+@Slf4j
+class PotionCatalog
+{
+	static final String RESOURCE = "potions.csv";
+
+	private static final String NONE = "NONE";
+
+	private final Map<Integer, Row> rows = new LinkedHashMap<>();
+
+	private static final class Row
+	{
+		private final int categories;
+		private final int boostBase;
+		private final int boostPercent;
+		private final int doses;
+		private final int spotAnim;
+
+		private Row(int categories, int boostBase, int boostPercent, int doses, int spotAnim)
+		{
+			this.categories = categories;
+			this.boostBase = boostBase;
+			this.boostPercent = boostPercent;
+			this.doses = doses;
+			this.spotAnim = spotAnim;
+		}
+	}
+
+	/**
+	 * @param overrides rows in the catalog format, replacing the bundled rows for the same items
+	 */
+	static PotionRegistry load(String overrides)
+	{
+		return load(PotionCatalog.class.getResourceAsStream(RESOURCE), overrides);
+	}
+
+	/**
+	 * @param bundled the bundled catalog, closed once read; the overrides are applied even if it can't be read
+	 */
+	static PotionRegistry load(InputStream bundled, String overrides)
+	{
+		PotionCatalog catalog = new PotionCatalog();
+		try (InputStream in = bundled)
+		{
+			if (in == null)
+			{
+				throw new IOException("missing " + RESOURCE);
+			}
+
+			catalog.parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), RESOURCE);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to load the potion catalog", e);
+		}
+
+		try
+		{
+			catalog.parse(new BufferedReader(new StringReader(overrides)), "potion overrides");
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to load the potion overrides", e);
+		}
+
+		return catalog.compile();
+	}
+
+	private void parse(BufferedReader reader, String source) throws IOException
+	{
+		String line;
+		int lineNumber = 0;
+		while ((line = reader.readLine()) != null)
+		{
+			lineNumber++;
+			int comment = line.indexOf('#');
+			line = (comment >= 0 ? line.substring(0, comment) : line).trim();
+			if (line.isEmpty())
+			{
+				continue;
+			}
+
+			try
+			{
+				parseRow(line);
+			}
+			catch (IllegalArgumentException e)
+			{
+				log.warn("Ignoring {} line {} \"{}\": {}", source, lineNumber, line, e.getMessage());
+			}
+		}
+	}
+
+	private void parseRow(String line)
+	{
+		String[] columns = line.split(",");
+		int itemId = Integer.parseInt(columns[0].trim());
+		int categories = categories(columns.length > 1 ? columns[1].trim() : "");
+		if (categories == 0)
+		{
+			rows.remove(itemId);
+			return;
+		}
+
+		if (columns.length < 5 || columns.length > 6)
+		{
+			throw new IllegalArgumentException("expected item id,categories,boost base,boost percent,doses[,spot anim]");
+		}
+
+		rows.put(itemId, new Row(categories,
+				Integer.parseInt(columns[2].trim()),
+				Integer.parseInt(columns[3].trim()),
+				Integer.parseInt(columns[4].trim()),
+				columns.length > 5 ? Integer.parseInt(columns[5].trim()) : -1));
+	}
+
+	private static int categories(String categories)
+	{
+		if (categories.equalsIgnoreCase(NONE))
+		{
+			return 0;
+		}
+
+		int flags = 0;
+		for (String category : categories.split("\\|"))
+		{
+			switch (category.trim().toUpperCase())
+			{
+				case "ATTACK":
+					flags |= PotionRegistry.ATTACK;
+					break;
+				case "STRENGTH":
+					flags |= PotionRegistry.STRENGTH;
+					break;
+				case "RANGED":
+					flags |= PotionRegistry.RANGED;
+					break;
+				case "MAGIC":
+					flags |= PotionRegistry.MAGIC;
+					break;
+				case "OVERLOAD":
+					flags |= PotionRegistry.OVERLOAD;
+					break;
+				case "HEART":
+					flags |= PotionRegistry.HEART;
+					break;
+				default:
+					throw new IllegalArgumentException("unknown category " + category);
+			}
+		}
+		return flags;
+	}
+
+	private PotionRegistry compile()
+	{
+		PotionRegistry.Builder builder = PotionRegistry.builder();
+		for (Map.Entry<Integer, Row> entry : rows.entrySet())
+		{
+			Row row = entry.getValue();
+			builder.put(entry.getKey(), row.categories, row.boostBase, row.boostPercent, row.doses);
+			if (row.spotAnim >= 0)
+			{
+				builder.spotAnims(row.spotAnim);
+			}
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps item IDs to the boosts they provide. Categories are bit flags, so a single lookup answers which
+ * boosts an item gives. Backed by an open-addressing int table to avoid boxing on the lookup path.
+ * Also holds the spot anims played on the player when a boost item without a drink message is used.
+ * <p>
+ * The entries come from {@link PotionCatalog}; {@link #EMPTY} is used until it has loaded.
+ */
+public final class PotionRegistry
+{
+	public static final int ATTACK = 1;
+	public static final int STRENGTH = 1 << 1;
+	public static final int RANGED = 1 << 2;
+	public static final int MAGIC = 1 << 3;
+	public static final int OVERLOAD = 1 << 4;
+	public static final int HEART = 1 << 5;
+
+	public static final int CATEGORY_COUNT = 6;
+	public static final int MELEE = ATTACK | STRENGTH;
+
+	public static final PotionRegistry EMPTY = builder().build();
+
+	private static final int EMPTY_KEY = -1;
+
+	private final int[] keys;
+	private final int[] categories;
+	private final int[] boostBases;
+	private final int[] boostPercents;
+	private final int[] doses;
+	private final int mask;
+	private final int size;
+	private final BitSet spotAnims;
+
+	private PotionRegistry(Map<Integer, Entry> entries, BitSet spotAnims)
+	{
+		int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 4 - 1) << 1;
+		keys = new int[capacity];
+		categories = new int[capacity];
+		boostBases = new int[capacity];
+		boostPercents = new int[capacity];
+		doses = new int[capacity];
+		mask = capacity - 1;
+		size = entries.size();
+		this.spotAnims = spotAnims;
+		Arrays.fill(keys, EMPTY_KEY);
+
+		for (Map.Entry<Integer, Entry> entry : entries.entrySet())
+		{
+			int slot = indexOf(entry.getKey());
+			Entry value = entry.getValue();
+			keys[slot] = entry.getKey();
+			categories[slot] = value.categories;
+			boostBases[slot] = value.boostBase;
+			boostPercents[slot] = value.boostPercent;
+			doses[slot] = value.doses;
+		}
+	}
+
+	/**
+	 * @return the category flags for the item, or 0 if it provides no tracked boost
+	 */
+	public int categoriesOf(int itemId)
+	{
+		int slot = slotOf(itemId);
+		return slot < 0 ? 0 : categories[slot];
+	}
+
+	public boolean provides(int itemId, int categories)
+	{
+		return (categoriesOf(itemId) & categories) != 0;
+	}
+
+	/**
+	 * @return how many levels the item boosts a stat with the given real level by, or 0 if it isn't a boost item
+	 */
+	public int boostOf(int itemId, int level)
+	{
+		int slot = slotOf(itemId);
+		return slot < 0 ? 0 : boostBases[slot] + level * boostPercents[slot] / 100;
+	}
+
+	/**
+	 * @return the doses left in the item, or 0 if it is not a boost item or is not used up
+	 */
+	public int dosesOf(int itemId)
+	{
+		int slot = slotOf(itemId);
+		return slot < 0 ? 0 : doses[slot];
+	}
+
+	/**
+	 * @return whether both items are boost items giving the same boosts, as the doses of one potion do
+	 */
+	public boolean isSameBoost(int itemId, int otherItemId)
+	{
+		int slot = slotOf(itemId);
+		int otherSlot = slotOf(otherItemId);
+		return slot >= 0 && otherSlot >= 0
+				&& categories[slot] == categories[otherSlot]
+				&& boostBases[slot] == boostBases[otherSlot]
+				&& boostPercents[slot] == boostPercents[otherSlot];
+	}
+
+	/**
+	 * @return whether the spot anim means the player just used a boost item
+	 */
+	public boolean isBoostSpotAnim(int spotAnimId)
+	{
+		return spotAnimId >= 0 && spotAnims.get(spotAnimId);
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	private int slotOf(int itemId)
+	{
+		if (itemId < 0)
+		{
+			return -1;
+		}
+
+		int slot = indexOf(itemId);
+		return keys[slot] == itemId ? slot : -1;
+	}
+
+	private int indexOf(int itemId)
+	{
+		int slot = (itemId * 0x9E3779B9) >>> 16 & mask;
+		while (keys[slot] != EMPTY_KEY && keys[slot] != itemId)
+		{
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static final class Entry
+	{
+		private final int categories;
+		private final int boostBase;
+		private final int boostPercent;
+		private final int doses;
+
+		private Entry(int categories, int boostBase, int boostPercent, int doses)
+		{
+			this.categories = categories;
+			this.boostBase = boostBase;
+			this.boostPercent = boostPercent;
+			this.doses = doses;
+		}
+	}
+
+	public static final class Builder
+	{
+		private final Map<Integer, Entry> entries = new LinkedHashMap<>();
+		private final BitSet spotAnims = new BitSet();
+
+		private Builder()
+		{
+		}
+
+		/**
+		 * Adds the item, replacing any earlier entry for it. Categories of 0 remove it.
+		 */
+		public Builder put(int itemId, int categories, int boostBase, int boostPercent, int doses)
+		{
+			if (categories == 0)
+			{
+				entries.remove(itemId);
+			}
+			else
+			{
+				entries.put(itemId, new Entry(categories, boostBase, boostPercent, doses));
+			}
+			return this;
+		}
+
+		public Builder spotAnims(int... spotAnimIds)
+		{
+			for (int spotAnimId : spotAnimIds)
+			{
+				spotAnims.set(spotAnimId);
+			}
+			return this;
+		}
+
+		public PotionRegistry build()
+		{
+			return new PotionRegistry(entries, (BitSet) spotAnims.clone());
+		}
+	}
+}
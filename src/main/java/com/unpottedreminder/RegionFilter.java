@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The regions to alert in, compiled from a comma-separated list of region ids into a bit per possible
+ * region. Each entry may carry its own melee/ranged/magic thresholds, as in {@code 12889, 13123:5/8/10}.
+ * An empty list allows every region. A new filter is compiled on every config change.
+ */
+@Slf4j
+class RegionFilter
+{
+	private static final int REGION_COUNT = 1 << 16;
+
+	private final BitSet regions;
+	private final Map<Integer, ThresholdProfile> profiles;
+
+	/**
+	 * Boost thresholds that replace the configured ones while in a region.
+	 */
+	@Value
+	static class ThresholdProfile
+	{
+		int melee;
+		int ranged;
+		int magic;
+
+		int thresholdFor(Skill skill)
+		{
+			switch (skill)
+			{
+				case MAGIC:
+					return magic;
+				case RANGED:
+					return ranged;
+				default:
+					return melee;
+			}
+		}
+	}
+
+	private RegionFilter(BitSet regions, Map<Integer, ThresholdProfile> profiles)
+	{
+		this.regions = regions;
+		this.profiles = profiles;
+	}
+
+	static RegionFilter compile(ConfigSnapshot config)
+	{
+		BitSet regions = new BitSet(REGION_COUNT);
+		Map<Integer, ThresholdProfile> profiles = new HashMap<>();
+
+		for (String entry : config.getAlertRegions().split(","))
+		{
+			entry = entry.trim();
+			if (entry.isEmpty())
+			{
+				continue;
+			}
+
+			try
+			{
+				int separator = entry.indexOf(':');
+				int regionId = Integer.parseInt(separator < 0 ? entry : entry.substring(0, separator).trim());
+				if (regionId < 0 || regionId >= REGION_COUNT)
+				{
+					throw new NumberFormatException("region out of range");
+				}
+
+				ThresholdProfile profile = separator < 0 ? null : parseProfile(entry.substring(separator + 1));
+				regions.set(regionId);
+				if (profile != null)
+				{
+					profiles.put(regionId, profile);
+				}
+			}
+			catch (NumberFormatException e)
+			{
+				log.warn("Ignoring invalid region entry \"{}\"", entry);
+			}
+		}
+
+		return new RegionFilter(regions, profiles);
+	}
+
+	private static ThresholdProfile parseProfile(String profile)
+	{
+		String[] thresholds = profile.split("/");
+		if (thresholds.length != 3)
+		{
+			throw new NumberFormatException("expected melee/ranged/magic thresholds");
+		}
+
+		return new ThresholdProfile(
+				Integer.parseInt(thresholds[0].trim()),
+				Integer.parseInt(thresholds[1].trim()),
+				Integer.parseInt(thresholds[2].trim()));
+	}
+
+	/**
+	 * @return whether no regions are listed, so every region is allowed
+	 */
+	boolean isEmpty()
+	{
+		return regions.isEmpty();
+	}
+
+	boolean allows(int regionId)
+	{
+		if (regions.isEmpty())
+		{
+			return true;
+		}
+
+		return regionId >= 0 && regions.get(regionId);
+	}
+
+	/**
+	 * @return the thresholds for the region, or null to use the configured ones
+	 */
+	ThresholdProfile profileFor(int regionId)
+	{
+		return profiles.isEmpty() ? null : profiles.get(regionId);
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.Subscribe;
+
+import javax.inject.Inject;
+
+/**
+ * Follows the map region the player is in, resolving instances to the region they were copied from so a
+ * raid room keeps its id across runs. The region is read once per tick and the listener only runs when it
+ * changes. The plugin only registers it while the region filter lists some regions.
+ */
+class RegionTracker
+{
+	static final int UNKNOWN_REGION = -1;
+
+	private final ClientView clientView;
+
+	@Getter
+	private int regionId = UNKNOWN_REGION;
+
+	@Setter
+	private Runnable regionChangedListener;
+
+	@Inject
+	RegionTracker(ClientView clientView)
+	{
+		this.clientView = clientView;
+	}
+
+	/**
+	 * Reads the current region without notifying the listener. Must be called on the client thread.
+	 */
+	void refresh()
+	{
+		regionId = clientView.getRegionId();
+	}
+
+	/**
+	 * Runs ahead of the plugin's own tick handling, so it sees the region of the tick it is handling.
+	 */
+	@Subscribe(priority = 1)
+	public void onGameTick(GameTick event)
+	{
+		update(clientView.getRegionId());
+	}
+
+	void update(int regionId)
+	{
+		if (regionId == this.regionId)
+		{
+			return;
+		}
+
+		this.regionId = regionId;
+		if (regionChangedListener != null)
+		{
+			regionChangedListener.run();
+		}
+	}
+
+	void clear()
+	{
+		regionId = UNKNOWN_REGION;
+	}
+}
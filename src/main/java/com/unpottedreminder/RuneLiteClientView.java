@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Actor;
+import net.runelite.api.ActorSpotAnim;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.Skill;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.coords.WorldPoint;
+
+import javax.inject.Inject;
+import java.util.function.IntPredicate;
+
+/**
+ * {@link ClientView} backed by the RuneLite client.
+ */
+class RuneLiteClientView implements ClientView
+{
+	private final Client client;
+
+	@Inject
+	RuneLiteClientView(Client client)
+	{
+		this.client = client;
+	}
+
+	@Override
+	public GameState getGameState()
+	{
+		return client.getGameState();
+	}
+
+	@Override
+	public int getTickCount()
+	{
+		return client.getTickCount();
+	}
+
+	@Override
+	public int getGameCycle()
+	{
+		return client.getGameCycle();
+	}
+
+	@Override
+	public boolean isInInstancedRegion()
+	{
+		return client.isInInstancedRegion();
+	}
+
+	@Override
+	public int getRegionId()
+	{
+		Player player = client.getLocalPlayer();
+		LocalPoint localPoint = player != null ? player.getLocalLocation() : null;
+		if (localPoint == null)
+		{
+			return RegionTracker.UNKNOWN_REGION;
+		}
+
+		return WorldPoint.fromLocalInstance(client, localPoint).getRegionID();
+	}
+
+	@Override
+	public int getSkillExperience(Skill skill)
+	{
+		return client.getSkillExperience(skill);
+	}
+
+	@Override
+	public int getRealSkillLevel(Skill skill)
+	{
+		return client.getRealSkillLevel(skill);
+	}
+
+	@Override
+	public int getBoostedSkillLevel(Skill skill)
+	{
+		return client.getBoostedSkillLevel(skill);
+	}
+
+	@Override
+	public int getVarbitValue(int varbitId)
+	{
+		return client.getVarbitValue(varbitId);
+	}
+
+	@Override
+	public int getVarpValue(int varpId)
+	{
+		return client.getVarpValue(varpId);
+	}
+
+	@Override
+	public Item[] getInventoryItems()
+	{
+		ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
+		return inventory != null ? inventory.getItems() : null;
+	}
+
+	@Override
+	public boolean isInteracting()
+	{
+		return getInteracting() != null;
+	}
+
+	@Override
+	public String getInteractingName()
+	{
+		Actor interacting = getInteracting();
+		return interacting != null ? interacting.getName() : null;
+	}
+
+	@Override
+	public int getInteractingNpcId()
+	{
+		Actor interacting = getInteracting();
+		return interacting instanceof NPC ? ((NPC) interacting).getId() : -1;
+	}
+
+	@Override
+	public boolean isLocalPlayer(Actor actor)
+	{
+		return actor != null && actor == client.getLocalPlayer();
+	}
+
+	@Override
+	public boolean hasSpotAnim(Actor actor, IntPredicate matches)
+	{
+		for (ActorSpotAnim spotAnim : actor.getSpotAnims())
+		{
+			if (matches.test(spotAnim.getId()))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void addGameMessage(String message)
+	{
+		client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", message, null);
+	}
+
+	private Actor getInteracting()
+	{
+		Player player = client.getLocalPlayer();
+		return player != null ? player.getInteracting() : null;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Last seen experience, real level and boost of each tracked skill, and whether its boost is latched low. Kept in
+ * primitive arrays indexed by {@link Skill#ordinal()}, so updates don't box and lookups don't hash.
+ * Owned and written by the plugin on the client thread; other components, such as the
+ * {@link BoostDecayScheduler}, only read it.
+ */
+class SkillState
+{
+	static final List<Skill> TRACKED_SKILLS = Collections.unmodifiableList(Arrays.asList(
+			Skill.ATTACK, Skill.STRENGTH, Skill.DEFENCE, Skill.RANGED, Skill.MAGIC));
+
+	private static final int SKILL_COUNT = Skill.values().length;
+	private static final int UNKNOWN = -1;
+
+	private static final boolean[] TRACKED = new boolean[SKILL_COUNT];
+	private static final boolean[] MELEE = new boolean[SKILL_COUNT];
+
+	static
+	{
+		for (Skill skill : TRACKED_SKILLS)
+		{
+			TRACKED[skill.ordinal()] = true;
+		}
+		MELEE[Skill.ATTACK.ordinal()] = true;
+		MELEE[Skill.STRENGTH.ordinal()] = true;
+		MELEE[Skill.DEFENCE.ordinal()] = true;
+	}
+
+	private final int[] experience = new int[SKILL_COUNT];
+	private final int[] levels = new int[SKILL_COUNT];
+	private final int[] boosts = new int[SKILL_COUNT];
+	private final boolean[] boostKnown = new boolean[SKILL_COUNT];
+	private final boolean[] low = new boolean[SKILL_COUNT];
+
+	SkillState()
+	{
+		clear();
+	}
+
+	static boolean isTracked(Skill skill)
+	{
+		return TRACKED[skill.ordinal()];
+	}
+
+	static boolean isMelee(Skill skill)
+	{
+		return MELEE[skill.ordinal()];
+	}
+
+	/**
+	 * @return the last seen experience, or -1 if none has been seen yet
+	 */
+	int getExperience(Skill skill)
+	{
+		return experience[skill.ordinal()];
+	}
+
+	void setExperience(Skill skill, int xp)
+	{
+		experience[skill.ordinal()] = xp;
+	}
+
+	/**
+	 * @return the last seen real level, or 0 if none has been seen yet
+	 */
+	int getLevel(Skill skill)
+	{
+		return levels[skill.ordinal()];
+	}
+
+	/**
+	 * @return whether the real level changed
+	 */
+	boolean setLevel(Skill skill, int level)
+	{
+		int previous = levels[skill.ordinal()];
+		levels[skill.ordinal()] = level;
+		return previous != level;
+	}
+
+	boolean isBoostKnown(Skill skill)
+	{
+		return boostKnown[skill.ordinal()];
+	}
+
+	/**
+	 * @return the last seen boost, or 0 if none has been seen yet
+	 */
+	int getBoost(Skill skill)
+	{
+		return boosts[skill.ordinal()];
+	}
+
+	void setBoost(Skill skill, int boost)
+	{
+		boosts[skill.ordinal()] = boost;
+		boostKnown[skill.ordinal()] = true;
+	}
+
+	/**
+	 * @return whether the boost is latched at or below its threshold
+	 */
+	boolean isLow(Skill skill)
+	{
+		return low[skill.ordinal()];
+	}
+
+	/**
+	 * A boost becomes low once it drops to its threshold, and only stops being low once it rises above the
+	 * threshold plus the hysteresis band, so a boost sitting on the threshold doesn't flip the alert on and off.
+	 *
+	 * @return whether the boost is latched low
+	 */
+	boolean updateLow(Skill skill, int threshold, int hysteresis)
+	{
+		return updateLow(skill, boosts[skill.ordinal()], threshold, hysteresis);
+	}
+
+	/**
+	 * Latches against the given boost, such as one predicted from the decay timer, rather than the last seen one.
+	 *
+	 * @return whether the boost is latched low
+	 */
+	boolean updateLow(Skill skill, int boost, int threshold, int hysteresis)
+	{
+		if (boost <= threshold)
+		{
+			low[skill.ordinal()] = true;
+		}
+		else if (boost > threshold + hysteresis)
+		{
+			low[skill.ordinal()] = false;
+		}
+		return low[skill.ordinal()];
+	}
+
+	void clear()
+	{
+		Arrays.fill(experience, UNKNOWN);
+		Arrays.fill(levels, 0);
+		Arrays.fill(boosts, 0);
+		Arrays.fill(boostKnown, false);
+		Arrays.fill(low, false);
+	}
+}
@@ -110,11 +110,33 @@ public interface UnpottedReminderConfig extends Config
 		return 0;
 	}
 
+	@ConfigItem(
+			keyName = "thresholdHysteresis",
+			name = "Threshold Hysteresis",
+			description = "Once alerted, a boost has to rise this far above its threshold before the alert is considered resolved",
+			position = 8
+	)
+	default int thresholdHysteresis()
+	{
+		return 0;
+	}
+
+	@ConfigItem(
+			keyName = "minimumBoostGain",
+			name = "Minimum boost gain",
+			description = "Only alert when the best boost item in your inventory would raise your current boost by at least this many levels (0 to disable)",
+			position = 9
+	)
+	default int minimumBoostGain()
+	{
+		return 0;
+	}
+
 	@ConfigItem(
 			keyName = "timeout",
 			name = "Timeout",
 			description = "Stop showing warning after this long in seconds (unless triggered again)",
-			position = 8
+			position = 10
 	)
 	@Units(Units.SECONDS)
 	default int timeout()
@@ -126,7 +148,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "experienceThreshold",
 			name = "Xp Threshold",
 			description = "Don't alert when xp drop is more than this amount (0 to disable)",
-			position = 9
+			position = 11
 	)
 	default int experienceThreshold()
 	{
@@ -137,7 +159,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "shouldFlash",
 			name = "Flash overlay",
 			description = "Whether or not the overlay should flash colors",
-			position = 10
+			position = 12
 	)
 	default boolean shouldFlash()
 	{
@@ -149,7 +171,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "flashColor1",
 			name = "Flash color 1",
 			description = "First color to flash between if 'Flash overlay' is on",
-			position = 11
+			position = 13
 	)
 	default Color flashColor1()
 	{
@@ -161,7 +183,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "flashColor2",
 			name = "Flash color 2",
 			description = "Second color to flash between if 'Flash overlay' is on",
-			position = 12
+			position = 14
 	)
 	default Color flashColor2()
 	{
@@ -172,7 +194,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "showOverlay",
 			name = "Show overlay",
 			description = "Whether or not to show a visual alert when warning you to pot",
-			position = 13
+			position = 15
 	)
 	default boolean showOverlay()
 	{
@@ -183,7 +205,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "alertDisplayMode",
 			name = "Alert display",
 			description = "Whether the visual alert is shown as a screen overlay or an infobox alongside your other infoboxes",
-			position = 14
+			position = 16
 	)
 	default AlertDisplayMode alertDisplayMode()
 	{
@@ -194,7 +216,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "shouldNotify",
 			name = "Notify",
 			description = "Whether or not to notify you when warning you to pot",
-			position = 15
+			position = 17
 	)
 	default boolean shouldNotify()
 	{
@@ -206,7 +228,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "notifyCooldown",
 			name = "Notify Cooldown",
 			description = "Seconds until notifier can be triggered again (0 to disable)",
-			position = 16
+			position = 18
 	)
 	default int notifyCooldown()
 	{
@@ -217,7 +239,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "useWhitelist",
 			name = "Enable NPC whitelist",
 			description = "Whether or not to only alert when attacking NPCs in the list below (comma-separated)",
-			position = 17
+			position = 19
 	)
 	default boolean useWhitelist()
 	{
@@ -228,7 +250,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "whitelist",
 			name = "NPC Whitelist",
 			description = "Only alert when attacking NPCs in this comma-separated list when toggled above (supports wildcards)",
-			position = 18
+			position = 20
 	)
 	default String whitelist()
 	{
@@ -239,7 +261,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "useBlacklist",
 			name = "Enable NPC blacklist",
 			description = "Whether or not to alert when attacking NPCs in the list below (comma-separated)",
-			position = 19
+			position = 21
 	)
 	default boolean useBlacklist()
 	{
@@ -250,7 +272,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "blacklist",
 			name = "NPC Blacklist",
 			description = "Don't alert when attacking NPCs in this comma-separated list when toggled above (supports wildcards)",
-			position = 20
+			position = 22
 	)
 	default String blacklist()
 	{
@@ -261,7 +283,7 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "alertWhenNotInteracting",
 			name = "Alert when not targeting any NPC",
 			description = "Whether or not to alert when you are not interacting with an NPC",
-			position = 21
+			position = 23
 	)
 	default boolean alertWhenNotInteracting()
 	{
@@ -272,18 +294,29 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "onlyInInstances",
 			name = "Only alert in instances",
 			description = "Whether or not to only alert when you are in an instanced area in-game",
-			position = 22
+			position = 24
 	)
 	default boolean onlyInInstances()
 	{
 		return false;
 	}
 
+	@ConfigItem(
+			keyName = "alertRegions",
+			name = "Only alert in regions",
+			description = "Comma-separated region ids to alert in, each optionally followed by melee/ranged/magic thresholds for that region, e.g. 12889, 13123:5/8/10. Leave empty to alert everywhere",
+			position = 25
+	)
+	default String alertRegions()
+	{
+		return "";
+	}
+
 	@ConfigItem(
 			keyName = "alertMessage",
 			name = "Alert message",
 			description = "The message to display in the overlay and notification. Also shown as the infobox tooltip",
-			position = 23
+			position = 26
 	)
 	default String alertMessage()
 	{
@@ -294,10 +327,67 @@ public interface UnpottedReminderConfig extends Config
 			keyName = "useVialIcon",
 			name = "Show vial icon instead of text on overlay",
 			description = "Whether or not to show an empty vial icon instead of the alert message. Always on for the infobox display",
-			position = 24
+			position = 27
 	)
 	default boolean useVialIcon()
 	{
 		return false;
 	}
+
+	@Alpha
+	@ConfigItem(
+			keyName = "infoBoxTint",
+			name = "Infobox icon tint",
+			description = "Color painted over the potion icons in the infobox display. Fully transparent leaves the icons as they are",
+			position = 28
+	)
+	default Color infoBoxTint()
+	{
+		return new Color(0, 0, 0, 0);
+	}
+
+	@ConfigItem(
+			keyName = "potionOverrides",
+			name = "Potion overrides",
+			description = "Extra or replacement boost items, one per line as item id,categories,boost base,boost percent,doses. "
+					+ "Categories are ATTACK|STRENGTH|RANGED|MAGIC|OVERLOAD|HEART, NONE removes an item, anything after # is ignored",
+			position = 29
+	)
+	default String potionOverrides()
+	{
+		return "";
+	}
+
+	@ConfigItem(
+			keyName = "preRenderOverlay",
+			name = "Pre-render overlay",
+			description = "Draw the overlay from two cached images instead of laying out the panel every frame",
+			position = 30
+	)
+	default boolean preRenderOverlay()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+			keyName = "recordEvents",
+			name = "Record events",
+			description = "Record the events this plugin handles to .runelite/unpotted-reminder so they can be replayed offline",
+			position = 31
+	)
+	default boolean recordEvents()
+	{
+		return false;
+	}
+
+	@ConfigItem(
+			keyName = "debugMetrics",
+			name = "Debug metrics",
+			description = "Collect performance metrics, show them in a debug panel and allow dumping them with ::unpotted",
+			position = 32
+	)
+	default boolean debugMetrics()
+	{
+		return false;
+	}
 }
@@ -25,26 +25,56 @@
  */
 package com.unpottedreminder;
 
-import net.runelite.client.plugins.Plugin;
+import net.runelite.api.Constants;
 import net.runelite.client.ui.overlay.infobox.InfoBox;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
 
+/**
+ * Alert infobox for one {@link BoostStyle}, showing the boost item that would be drunk and how many boosts
+ * the supplies have left. The plugin pushes new values through {@link #update}, so the per-frame getters
+ * only return fields.
+ */
 class UnpottedReminderInfoBox extends InfoBox
 {
-	private final UnpottedReminderConfig config;
+	private final BoostStyle style;
+
+	private String text = "";
+	private String tooltip = "";
+
+	UnpottedReminderInfoBox(BoostStyle style, BufferedImage image, UnpottedReminderPlugin plugin)
+	{
+		super(image, plugin);
+		this.style = style;
+	}
 
-	UnpottedReminderInfoBox(BufferedImage vialImage, Plugin plugin, UnpottedReminderConfig config)
+	/**
+	 * @param cycles the boosts the supplies have left, or -1 if unknown
+	 * @param ticksPerCycle the ticks between boosts, or {@link DoseLedger#UNKNOWN}
+	 */
+	void update(BufferedImage icon, int cycles, int ticksPerCycle, String alertMessage)
 	{
-		super(vialImage, plugin);
-		this.config = config;
+		setImage(icon);
+		text = cycles < 0 ? "" : Integer.toString(cycles);
+
+		StringBuilder builder = new StringBuilder(style.getName()).append(": ").append(alertMessage);
+		if (cycles >= 0)
+		{
+			builder.append("</br>").append(cycles).append(cycles == 1 ? " boost" : " boosts").append(" left");
+			if (ticksPerCycle != DoseLedger.UNKNOWN)
+			{
+				long minutes = (long) cycles * ticksPerCycle * Constants.GAME_TICK_LENGTH / 60_000;
+				builder.append(", about ").append(minutes).append(" min");
+			}
+		}
+		tooltip = builder.toString();
 	}
 
 	@Override
 	public String getText()
 	{
-		return "";
+		return text;
 	}
 
 	@Override
@@ -56,6 +86,6 @@ class UnpottedReminderInfoBox extends InfoBox
 	@Override
 	public String getTooltip()
 	{
-		return UnpottedReminderPlugin.resolveAlertMessage(config);
+		return tooltip;
 	}
 }
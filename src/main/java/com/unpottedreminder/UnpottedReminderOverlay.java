@@ -25,7 +25,6 @@
  */
 package com.unpottedreminder;
 
-import net.runelite.api.Client;
 import net.runelite.api.gameval.ItemID;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.ui.overlay.OverlayPanel;
@@ -37,61 +36,151 @@ import net.runelite.client.util.AsyncBufferedImage;
 
 import javax.inject.Inject;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
-
+/**
+ * The panel's children and size only change with the config or the font, so they are built once and
+ * kept between frames. A steady-state frame just picks the background colour and renders the panel,
+ * or, when pre-rendering is enabled, draws one of two cached images of the panel.
+ */
 class UnpottedReminderOverlay extends OverlayPanel
 {
-	private final Client client;
-	private final UnpottedReminderConfig config;
+	private static final int FLASH_PERIOD = 40;
+
+	private final ClientView clientView;
+	private final UnpottedReminderPlugin plugin;
 	private final AsyncBufferedImage vialImage;
 
+	private ConfigSnapshot cachedConfig;
+	private Font cachedFont;
+
+	private volatile BufferedImage[] flashFrames;
+	private Dimension flashFrameSize;
+
 	@Inject
-	private UnpottedReminderOverlay(Client client, UnpottedReminderConfig config, ItemManager itemManager)
+	private UnpottedReminderOverlay(ClientView clientView, UnpottedReminderPlugin plugin, ItemManager itemManager)
 	{
-		this.client = client;
-		this.config = config;
+		this.clientView = clientView;
+		this.plugin = plugin;
 		this.vialImage = itemManager.getImage(ItemID.VIAL_EMPTY);
+		setPosition(OverlayPosition.BOTTOM_RIGHT);
+		vialImage.onLoaded(() -> flashFrames = null);
 	}
 
 	@Override
 	public Dimension render(Graphics2D graphics)
+	{
+		JfrOverlayRenderEvent jfrEvent = new JfrOverlayRenderEvent();
+		jfrEvent.begin();
+
+		PluginMetrics metrics = plugin.getMetrics();
+		Dimension dimension;
+		if (metrics.isEnabled())
+		{
+			long start = System.nanoTime();
+			dimension = renderAlert(graphics);
+			metrics.getRenderNanos().record(System.nanoTime() - start);
+		}
+		else
+		{
+			dimension = renderAlert(graphics);
+		}
+
+		if (jfrEvent.shouldCommit())
+		{
+			ConfigSnapshot config = plugin.getConfigSnapshot();
+			jfrEvent.preRendered = config.isPreRenderOverlay();
+			jfrEvent.flashFrame = config.isShouldFlash() && clientView.getGameCycle() % FLASH_PERIOD < FLASH_PERIOD / 2;
+			jfrEvent.commit();
+		}
+		return dimension;
+	}
+
+	private Dimension renderAlert(Graphics2D graphics)
+	{
+		ConfigSnapshot config = plugin.getConfigSnapshot();
+		Font font = graphics.getFont();
+		if (config != cachedConfig || font != cachedFont)
+		{
+			rebuild(config, graphics.getFontMetrics());
+			cachedConfig = config;
+			cachedFont = font;
+		}
+
+		boolean secondColor = config.isShouldFlash() && clientView.getGameCycle() % FLASH_PERIOD < FLASH_PERIOD / 2;
+
+		if (config.isPreRenderOverlay())
+		{
+			BufferedImage[] frames = flashFrames;
+			if (frames == null)
+			{
+				frames = renderFlashFrames(config, graphics);
+				flashFrames = frames;
+			}
+
+			graphics.drawImage(frames[secondColor ? 1 : 0], 0, 0, null);
+			return flashFrameSize;
+		}
+
+		panelComponent.setBackgroundColor(secondColor ? config.getFlashColor2() : config.getFlashColor1());
+		return panelComponent.render(graphics);
+	}
+
+	private void rebuild(ConfigSnapshot config, FontMetrics fontMetrics)
 	{
 		panelComponent.getChildren().clear();
 
 		int contentWidth;
-		if (config.useVialIcon())
+		if (config.isUseVialIcon())
 		{
 			panelComponent.getChildren().add(new ImageComponent(vialImage));
 			contentWidth = vialImage.getWidth();
 		}
 		else
 		{
-			String alertMessage = UnpottedReminderPlugin.resolveAlertMessage(config);
+			String alertMessage = config.getAlertMessage();
 			panelComponent.getChildren().add((LineComponent.builder())
 					.left(alertMessage)
 					.build());
-			contentWidth = graphics.getFontMetrics().stringWidth(alertMessage);
+			contentWidth = fontMetrics.stringWidth(alertMessage);
 		}
 
 		panelComponent.setPreferredSize(new Dimension(contentWidth + 2 * ComponentConstants.STANDARD_BORDER, 0));
+		flashFrames = null;
+	}
+
+	private BufferedImage[] renderFlashFrames(ConfigSnapshot config, Graphics2D graphics)
+	{
+		BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		flashFrameSize = renderPanel(scratch, graphics, config.getFlashColor1());
+
+		return new BufferedImage[]{
+				renderFlashFrame(graphics, config.getFlashColor1()),
+				renderFlashFrame(graphics, config.getFlashColor2())
+		};
+	}
 
-		if (config.shouldFlash())
+	private BufferedImage renderFlashFrame(Graphics2D graphics, Color background)
+	{
+		BufferedImage frame = new BufferedImage(
+				Math.max(flashFrameSize.width, 1), Math.max(flashFrameSize.height, 1), BufferedImage.TYPE_INT_ARGB);
+		renderPanel(frame, graphics, background);
+		return frame;
+	}
+
+	private Dimension renderPanel(BufferedImage target, Graphics2D graphics, Color background)
+	{
+		Graphics2D frameGraphics = target.createGraphics();
+		try
 		{
-			if (client.getGameCycle() % 40 >= 20)
-			{
-				panelComponent.setBackgroundColor(config.flashColor1());
-			}
-			else
-			{
-				panelComponent.setBackgroundColor(config.flashColor2());
-			}
+			frameGraphics.setFont(graphics.getFont());
+			frameGraphics.setRenderingHints(graphics.getRenderingHints());
+			panelComponent.setBackgroundColor(background);
+			return panelComponent.render(frameGraphics);
 		}
-		else
+		finally
 		{
-			panelComponent.setBackgroundColor(config.flashColor1());
+			frameGraphics.dispose();
 		}
-
-		setPosition(OverlayPosition.BOTTOM_RIGHT);
-		return panelComponent.render(graphics);
 	}
 }
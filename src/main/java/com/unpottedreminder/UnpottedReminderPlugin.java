@@ -25,14 +25,21 @@
  */
 package com.unpottedreminder;
 
+import com.google.inject.Binder;
 import com.google.inject.Provides;
+import com.google.inject.Scopes;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
 import net.runelite.api.events.*;
 import net.runelite.api.gameval.ItemID;
 import net.runelite.client.Notifier;
+import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.game.ItemManager;
@@ -40,13 +47,14 @@ import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
-import net.runelite.client.util.Text;
-import net.runelite.client.util.WildcardMatcher;
 
 import javax.inject.Inject;
-import java.time.Instant;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ScheduledExecutorService;
 
 @PluginDescriptor(
 	name = "Unpotted Reminder",
@@ -57,7 +65,7 @@ import java.util.stream.Collectors;
 public class UnpottedReminderPlugin extends Plugin
 {
 	@Inject
-	private Client client;
+	private ClientView clientView;
 
 	@Inject
 	private UnpottedReminderConfig config;
@@ -80,82 +88,92 @@ public class UnpottedReminderPlugin extends Plugin
 	@Inject
 	private ItemManager itemManager;
 
-	private UnpottedReminderInfoBox infoBox;
+	@Inject
+	private EventBus eventBus;
+
+	@Inject
+	private CombatStyleTracker combatStyleTracker;
+
+	@Inject
+	private BoostDecayScheduler boostDecayScheduler;
+
+	@Inject
+	private RegionTracker regionTracker;
+
+	@Inject
+	private UnpottedReminderMetricsOverlay metricsOverlay;
 
-	private Item[] playerItems;
+	private final EnumMap<BoostStyle, UnpottedReminderInfoBox> infoBoxes = new EnumMap<>(BoostStyle.class);
+	private final EnumSet<BoostStyle> shownInfoBoxes = EnumSet.noneOf(BoostStyle.class);
+	private ItemIconCache iconCache;
 
-	private List<String> blacklisted = new ArrayList<>();
-	private List<String> whitelisted = new ArrayList<>();
+	@Getter
+	private ConfigSnapshot configSnapshot;
 
-	private Instant alertStart;
-	private Instant lastNotify;
+	@Inject
+	private ScheduledExecutorService executor;
+
+	private PotionRegistry potionRegistry = PotionRegistry.EMPTY;
+	private final InventoryPotionIndex inventoryIndex = new InventoryPotionIndex(potionRegistry);
+	private final BoostGainTable boostGainTable = new BoostGainTable();
+	@Getter(AccessLevel.PACKAGE)
+	private final DoseLedger doseLedger = new DoseLedger();
+
+	/**
+	 * The tick of the last drink message or boost spot anim, and the last doses taken out of the inventory
+	 * that still need one on the same tick to count as drinks.
+	 */
+	private int drinkReportedTick = -1;
+	private int unconfirmedDrinkTick = -1;
+	private int unconfirmedDrinks;
+
+	/**
+	 * Bumped on each catalog load and on shutdown, so a load that finishes after a newer one, or after the
+	 * plugin stopped, is dropped.
+	 */
+	private volatile int potionCatalogGeneration;
+
+	private NpcFilter npcFilter;
+	private RegionFilter regionFilter;
+	private RegionFilter.ThresholdProfile regionProfile;
+	@Getter(AccessLevel.PACKAGE)
+	private boolean regionTrackerRegistered;
+
+	@Setter(AccessLevel.PACKAGE)
+	private EventRecorder eventRecorder;
+
+	@Getter
+	private final PluginMetrics metrics = new PluginMetrics();
+
+	private final AlertSubscriber alertSubscriber = new AlertSubscriber(this);
+	@Getter(AccessLevel.PACKAGE)
+	private boolean alertSubscriberRegistered;
+
+	@Getter(AccessLevel.PACKAGE)
+	private AlertState alertState = AlertState.IDLE;
+	private AlertDisplayMode shownDisplayMode;
+	private int alertExpiryTick;
+	private NotificationCoalescer notificationCoalescer;
 	private int potionLastDrankGameCycle;
 	
 	static final String DEFAULT_ALERT_MESSAGE = "Drink a boost potion!";
 
-	private static final int IMBUED_HEART_GRAPHIC = 1316;
-	private static final int SATURATED_HEART_GRAPHIC = 2287;
-
-	private static final List<Integer> DEFENSIVE_CASTING_WEAPONTYPES = List.of(18, 21);
-	private static final List<Integer> RANGED_WEAPONTYPES = List.of(3, 5, 6, 7, 19);
-	private static final List<Integer> POWERED_STAFF_WEAPONTYPES = List.of(23, 24);
-	private static final Integer ATTACK_STYLE_DEFENSIVE = 3;
-
-	private static final List<Skill> MELEE_SKILLS = List.of(Skill.ATTACK, Skill.STRENGTH, Skill.DEFENCE);
-	private final List<Skill> trackedSkills = List.of(Skill.ATTACK, Skill.STRENGTH, Skill.DEFENCE, Skill.RANGED, Skill.MAGIC);
-
-	public static final List<Integer> MELEE_POTIONS = List.of(
-			ItemID._4DOSECOMBAT, ItemID._3DOSECOMBAT, ItemID._2DOSECOMBAT, ItemID._1DOSECOMBAT,
-			ItemID._4DOSE2COMBAT, ItemID._3DOSE2COMBAT, ItemID._2DOSE2COMBAT, ItemID._1DOSE2COMBAT,
-			ItemID._4DOSEDIVINECOMBAT, ItemID._3DOSEDIVINECOMBAT, ItemID._2DOSEDIVINECOMBAT, ItemID._1DOSEDIVINECOMBAT,
-			ItemID._4DOSE1ATTACK, ItemID._3DOSE1ATTACK, ItemID._2DOSE1ATTACK, ItemID._1DOSE1ATTACK,
-			ItemID._4DOSE2ATTACK, ItemID._3DOSE2ATTACK, ItemID._2DOSE2ATTACK, ItemID._1DOSE2ATTACK,
-			ItemID._4DOSEDIVINEATTACK, ItemID._3DOSEDIVINEATTACK, ItemID._2DOSEDIVINEATTACK, ItemID._1DOSEDIVINEATTACK,
-			ItemID.STRENGTH4, ItemID._3DOSE1STRENGTH, ItemID._2DOSE1STRENGTH, ItemID._1DOSE1STRENGTH,
-			ItemID._4DOSE2STRENGTH, ItemID._3DOSE2STRENGTH, ItemID._2DOSE2STRENGTH, ItemID._1DOSE2STRENGTH,
-			ItemID._4DOSEDIVINESTRENGTH, ItemID._3DOSEDIVINESTRENGTH, ItemID._2DOSEDIVINESTRENGTH, ItemID._1DOSEDIVINESTRENGTH,
-			ItemID._4DOSEMOONLIGHTPOTION, ItemID._3DOSEMOONLIGHTPOTION, ItemID._2DOSEMOONLIGHTPOTION, ItemID._1DOSEMOONLIGHTPOTION);
-
-	public static final List<Integer> ATTACK_POTIONS = List.of(
-			ItemID._4DOSECOMBAT, ItemID._3DOSECOMBAT, ItemID._2DOSECOMBAT, ItemID._1DOSECOMBAT,
-			ItemID._4DOSE2COMBAT, ItemID._3DOSE2COMBAT, ItemID._2DOSE2COMBAT, ItemID._1DOSE2COMBAT,
-			ItemID._4DOSEDIVINECOMBAT, ItemID._3DOSEDIVINECOMBAT, ItemID._2DOSEDIVINECOMBAT, ItemID._1DOSEDIVINECOMBAT,
-			ItemID._4DOSE1ATTACK, ItemID._3DOSE1ATTACK, ItemID._2DOSE1ATTACK, ItemID._1DOSE1ATTACK,
-			ItemID._4DOSE2ATTACK, ItemID._3DOSE2ATTACK, ItemID._2DOSE2ATTACK, ItemID._1DOSE2ATTACK,
-			ItemID._4DOSEDIVINEATTACK, ItemID._3DOSEDIVINEATTACK, ItemID._2DOSEDIVINEATTACK, ItemID._1DOSEDIVINEATTACK,
-			ItemID._4DOSEMOONLIGHTPOTION, ItemID._3DOSEMOONLIGHTPOTION, ItemID._2DOSEMOONLIGHTPOTION, ItemID._1DOSEMOONLIGHTPOTION);
-
-	public static final List<Integer> STRENGTH_POTIONS = List.of(
-			ItemID._4DOSECOMBAT, ItemID._3DOSECOMBAT, ItemID._2DOSECOMBAT, ItemID._1DOSECOMBAT,
-			ItemID._4DOSE2COMBAT, ItemID._3DOSE2COMBAT, ItemID._2DOSE2COMBAT, ItemID._1DOSE2COMBAT,
-			ItemID._4DOSEDIVINECOMBAT, ItemID._3DOSEDIVINECOMBAT, ItemID._2DOSEDIVINECOMBAT, ItemID._1DOSEDIVINECOMBAT,
-			ItemID.STRENGTH4, ItemID._3DOSE1STRENGTH, ItemID._2DOSE1STRENGTH, ItemID._1DOSE1STRENGTH,
-			ItemID._4DOSE2STRENGTH, ItemID._3DOSE2STRENGTH, ItemID._2DOSE2STRENGTH, ItemID._1DOSE2STRENGTH,
-			ItemID._4DOSEDIVINESTRENGTH, ItemID._3DOSEDIVINESTRENGTH, ItemID._2DOSEDIVINESTRENGTH, ItemID._1DOSEDIVINESTRENGTH,
-			ItemID._4DOSEMOONLIGHTPOTION, ItemID._3DOSEMOONLIGHTPOTION, ItemID._2DOSEMOONLIGHTPOTION, ItemID._1DOSEMOONLIGHTPOTION);
-
-	public static final List<Integer> RANGED_POTIONS = List.of(
-			ItemID._4DOSERANGERSPOTION, ItemID._3DOSERANGERSPOTION, ItemID._2DOSERANGERSPOTION, ItemID._1DOSERANGERSPOTION,
-			ItemID._4DOSEDIVINERANGE, ItemID._3DOSEDIVINERANGE, ItemID._2DOSEDIVINERANGE, ItemID._1DOSEDIVINERANGE,
-			ItemID._4DOSEBASTION, ItemID._3DOSEBASTION, ItemID._2DOSEBASTION, ItemID._1DOSEBASTION,
-			ItemID._4DOSEDIVINEBASTION, ItemID._3DOSEDIVINEBASTION, ItemID._2DOSEDIVINEBASTION, ItemID._1DOSEDIVINEBASTION,
-			ItemID._4DOSEARMADYLBREW, ItemID._3DOSEARMADYLBREW, ItemID._2DOSEARMADYLBREW, ItemID._1DOSEARMADYLBREW);
-
-	public static final List<Integer> MAGIC_POTIONS = List.of(
-			ItemID._4DOSE1MAGIC, ItemID._3DOSE1MAGIC, ItemID._2DOSE1MAGIC, ItemID._1DOSE1MAGIC,
-			ItemID._4DOSEBATTLEMAGE, ItemID._3DOSEBATTLEMAGE, ItemID._2DOSEBATTLEMAGE, ItemID._1DOSEBATTLEMAGE,
-			ItemID._4DOSEDIVINEMAGIC, ItemID._3DOSEDIVINEMAGIC, ItemID._2DOSEDIVINEMAGIC, ItemID._1DOSEDIVINEMAGIC,
-			ItemID._4DOSEDIVINEBATTLEMAGE, ItemID._3DOSEDIVINEBATTLEMAGE, ItemID._2DOSEDIVINEBATTLEMAGE, ItemID._1DOSEDIVINEBATTLEMAGE,
-			ItemID._4DOSEANCIENTBREW, ItemID._3DOSEANCIENTBREW, ItemID._2DOSEANCIENTBREW, ItemID._1DOSEANCIENTBREW,
-			ItemID._4DOSEFORGOTTENBREW, ItemID._3DOSEFORGOTTENBREW, ItemID._2DOSEFORGOTTENBREW, ItemID._1DOSEFORGOTTENBREW);
-
-	public static final List<Integer> OVERLOADS = List.of(
-			ItemID.TOA_SUPPLY_STATS_2, ItemID.TOA_SUPPLY_STATS_1,
-			ItemID.NZONE4DOSEOVERLOADPOTION, ItemID.NZONE3DOSEOVERLOADPOTION, ItemID.NZONE2DOSEOVERLOADPOTION, ItemID.NZONE1DOSEOVERLOADPOTION,
-			ItemID.RAIDS_VIAL_OVERLOAD_STRONG_4, ItemID.RAIDS_VIAL_OVERLOAD_STRONG_3, ItemID.RAIDS_VIAL_OVERLOAD_STRONG_2, ItemID.RAIDS_VIAL_OVERLOAD_STRONG_1);
-
-	private final EnumMap<Skill, Integer> playerExperience = new EnumMap<>(Skill.class);
-	private final EnumMap<Skill, Integer> playerBoosts = new EnumMap<>(Skill.class);
+	/**
+	 * Game messages sent when the player consumes a boost. Drinks of every potion, including overloads and
+	 * divine potions, share the first phrase; add new phrases here as new consumables appear.
+	 */
+	private static final ChatPhraseMatcher BOOST_CONSUMED_MESSAGES = ChatPhraseMatcher.of(
+			"You drink some of your",
+			"You crush the salts"
+	);
+
+	@Getter
+	@Inject
+	private SkillState skillState;
+	@Getter(AccessLevel.PACKAGE)
+	private final EnumSet<Skill> alertedSkills = EnumSet.noneOf(Skill.class);
+	private final EnumSet<Skill> pendingSkills = EnumSet.noneOf(Skill.class);
+	private final EnumSet<Skill> dueSkills = EnumSet.noneOf(Skill.class);
 
 	@Provides
 	UnpottedReminderConfig getConfig(ConfigManager configManager)
@@ -164,27 +182,48 @@ public class UnpottedReminderPlugin extends Plugin
 	}
 
 	@Override
-	protected void startUp()
+	public void configure(Binder binder)
 	{
-		blacklisted = splitList(config.blacklist());
-		whitelisted = splitList(config.whitelist());
+		binder.bind(ClientView.class).to(RuneLiteClientView.class);
+		binder.bind(SkillState.class).in(Scopes.SINGLETON);
+	}
 
-		infoBox = new UnpottedReminderInfoBox(itemManager.getImage(ItemID.VIAL_EMPTY), this, config);
+	@Override
+	protected void startUp()
+	{
+		configSnapshot = ConfigSnapshot.from(config);
+		npcFilter = NpcFilter.compile(configSnapshot);
+		regionFilter = RegionFilter.compile(configSnapshot);
+		updateMetrics();
+		loadPotionCatalog();
+
+		notificationCoalescer = new NotificationCoalescer(notifier, metrics);
+		iconCache = new ItemIconCache(itemManager, this::onIconPainted);
+		for (BoostStyle style : BoostStyle.values())
+		{
+			infoBoxes.put(style, new UnpottedReminderInfoBox(style, iconCache.get(ItemID.VIAL_EMPTY, null), this));
+		}
+		eventBus.register(combatStyleTracker);
+		eventBus.register(boostDecayScheduler);
+		regionTracker.setRegionChangedListener(this::onRegionChanged);
+		updateRecording();
 
 		clientThread.invoke(() ->
 		{
-			if (client.getGameState() == GameState.LOGGED_IN)
+			updateRegionTracker();
+			if (clientView.getGameState() == GameState.LOGGED_IN)
 			{
-				for (Skill skill : trackedSkills)
-				{
-					playerExperience.put(skill, client.getSkillExperience(skill));
-				}
+				combatStyleTracker.refresh();
+				boostDecayScheduler.refresh();
+				regionProfile = regionFilter.profileFor(regionTracker.getRegionId());
 
-				ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
-				if (inventory != null)
+				Item[] items = clientView.getInventoryItems();
+				if (items != null)
 				{
-					playerItems = inventory.getItems();
+					inventoryIndex.update(items);
 				}
+
+				updateAlertSubscriber();
 			}
 		});
 	}
@@ -192,130 +231,566 @@ public class UnpottedReminderPlugin extends Plugin
 	@Override
 	protected void shutDown()
 	{
-		playerItems = null;
-		alertStart = null;
-		playerExperience.clear();
-		overlayManager.remove(overlay);
-		infoBoxManager.removeInfoBox(infoBox);
+		eventBus.unregister(combatStyleTracker);
+		eventBus.unregister(boostDecayScheduler);
+		regionTracker.setRegionChangedListener(null);
+		stopRecording();
+		overlayManager.remove(metricsOverlay);
+		metrics.setEnabled(false);
+		metrics.reset();
+		potionCatalogGeneration++;
+
+		// The rest is client thread state, so it is reset there once any event being handled has finished.
+		// A restart queues its own client thread work behind this.
+		clientThread.invoke(() ->
+		{
+			eventBus.unregister(regionTracker);
+			regionTrackerRegistered = false;
+			eventBus.unregister(alertSubscriber);
+			alertSubscriberRegistered = false;
+			clearAlert(AlertState.IDLE);
+			doseLedger.clear();
+			drinkReportedTick = -1;
+			unconfirmedDrinkTick = -1;
+			unconfirmedDrinks = 0;
+			potionRegistry = PotionRegistry.EMPTY;
+			inventoryIndex.setRegistry(potionRegistry);
+			notificationCoalescer.clear();
+			skillState.clear();
+			pendingSkills.clear();
+			boostDecayScheduler.clear();
+			regionTracker.clear();
+			regionProfile = null;
+		});
 	}
 
 	@Subscribe
 	public void onConfigChanged(ConfigChanged event)
 	{
-		if (event.getGroup().equals("unpottedreminder"))
+		if (!event.getGroup().equals("unpottedreminder"))
 		{
-			blacklisted = splitList(config.blacklist());
-			whitelisted = splitList(config.whitelist());
+			return;
+		}
 
-			if (!config.showOverlay())
+		// Config changes arrive on the EDT; the snapshot and filters are built here, and everything that
+		// touches alert, skill or infobox state is applied on the client thread
+		ConfigSnapshot snapshot = ConfigSnapshot.from(config);
+		NpcFilter compiledNpcFilter = NpcFilter.compile(snapshot);
+		RegionFilter compiledRegionFilter = RegionFilter.compile(snapshot);
+		clientThread.invoke(() ->
+		{
+			ConfigSnapshot previousSnapshot = configSnapshot;
+			configSnapshot = snapshot;
+			if (!configSnapshot.getPotionOverrides().equals(previousSnapshot.getPotionOverrides()))
 			{
-				overlayManager.remove(overlay);
-				infoBoxManager.removeInfoBox(infoBox);
+				loadPotionCatalog();
 			}
-			else if (config.alertDisplayMode() == AlertDisplayMode.INFOBOX)
+
+			npcFilter = compiledNpcFilter;
+			regionFilter = compiledRegionFilter;
+			updateRegionTracker();
+			regionProfile = regionFilter.profileFor(regionTracker.getRegionId());
+			updateRecording();
+			updateMetrics();
+			relatchSkills();
+			updateAlertSubscriber();
+
+			iconCache.clear();
+			if (alertState == AlertState.ACTIVE && shownDisplayMode != displayModeFor(configSnapshot))
 			{
-				overlayManager.remove(overlay);
+				hideAlertUi();
+				showAlertUi();
 			}
 			else
 			{
-				infoBoxManager.removeInfoBox(infoBox);
+				updateInfoBoxes();
 			}
-		}
+		});
 	}
 
 	@Subscribe
 	public void onItemContainerChanged(ItemContainerChanged event)
 	{
-		if (event.getItemContainer() == client.getItemContainer(InventoryID.INVENTORY))
+		metrics.handled(PluginMetrics.Handler.ITEM_CONTAINER_CHANGED);
+
+		Item[] items = event.getContainerId() == InventoryID.INVENTORY.getId() ? clientView.getInventoryItems() : null;
+		if (items != null)
+		{
+			int tick = clientView.getTickCount();
+			int dosesDrunk = inventoryIndex.update(items);
+			int lastDosesRemoved = inventoryIndex.getLastDosesRemoved();
+			if (drinkReportedTick == tick)
+			{
+				dosesDrunk += lastDosesRemoved;
+			}
+			else if (lastDosesRemoved > 0)
+			{
+				unconfirmedDrinkTick = tick;
+				unconfirmedDrinks = lastDosesRemoved;
+			}
+			drinksObserved(dosesDrunk, tick);
+			boostGainTable.rebuild(potionRegistry, inventoryIndex, skillState);
+			updateAlertSubscriber();
+			updateInfoBoxes();
+		}
+	}
+
+	/**
+	 * Called on a drink message or boost spot anim. Confirms the last doses taken out of the inventory on the
+	 * same tick as drinks, rather than dropped or banked potions.
+	 */
+	private void drinkReported()
+	{
+		int tick = clientView.getTickCount();
+		drinkReportedTick = tick;
+		if (unconfirmedDrinkTick == tick)
+		{
+			drinksObserved(unconfirmedDrinks, tick);
+			unconfirmedDrinks = 0;
+		}
+	}
+
+	private void drinksObserved(int doses, int tick)
+	{
+		for (int i = 0; i < doses; i++)
 		{
-			playerItems = event.getItemContainer().getItems();
+			doseLedger.drinkObserved(tick);
+		}
+	}
+
+	/**
+	 * Compiles the potion catalog and the overrides on the executor, then swaps the registry in on the
+	 * client thread. Boost items aren't recognised until the first load completes.
+	 */
+	private void loadPotionCatalog()
+	{
+		int generation = ++potionCatalogGeneration;
+		String overrides = configSnapshot.getPotionOverrides();
+		executor.execute(() ->
+		{
+			PotionRegistry registry = PotionCatalog.load(overrides);
+			log.debug("Loaded {} boost items", registry.size());
+			clientThread.invoke(() ->
+			{
+				if (generation == potionCatalogGeneration)
+				{
+					installPotionRegistry(registry);
+				}
+			});
+		});
+	}
+
+	private void installPotionRegistry(PotionRegistry registry)
+	{
+		potionRegistry = registry;
+		inventoryIndex.setRegistry(registry);
+
+		Item[] items = clientView.getInventoryItems();
+		if (items != null)
+		{
+			inventoryIndex.update(items);
+		}
+		boostGainTable.rebuild(potionRegistry, inventoryIndex, skillState);
+
+		updateAlertSubscriber();
+	}
+
+	private void onRegionChanged()
+	{
+		RegionFilter.ThresholdProfile profile = regionFilter.profileFor(regionTracker.getRegionId());
+		if (profile != regionProfile)
+		{
+			regionProfile = profile;
+			relatchSkills();
+		}
+
+		updateAlertSubscriber();
+	}
+
+	/**
+	 * Re-applies the thresholds to the known boosts after they change.
+	 */
+	private void relatchSkills()
+	{
+		for (Skill skill : SkillState.TRACKED_SKILLS)
+		{
+			if (skillState.isBoostKnown(skill))
+			{
+				updateBoostLatch(skill, skillState.getBoost(skill));
+				boostDecayScheduler.updateThreshold(skill, getBoostThreshold(skill), clientView.getTickCount());
+			}
 		}
 	}
 
 	@Subscribe
-	public void onStatChanged(StatChanged event)
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		// Entering or leaving an instance always goes through a loading screen
+		if (event.getGameState() == GameState.LOGGED_IN)
+		{
+			updateAlertSubscriber();
+		}
+	}
+
+	void onStatChanged(StatChanged event)
+	{
+		metrics.handled(PluginMetrics.Handler.STAT_CHANGED);
+
+		JfrStatChangedEvent jfrEvent = new JfrStatChangedEvent();
+		jfrEvent.begin();
+
+		JfrStatChangedEvent.Outcome outcome = updateStat(event);
+
+		if (jfrEvent.shouldCommit())
+		{
+			jfrEvent.skill = event.getSkill().getName();
+			jfrEvent.boost = event.getBoostedLevel() - event.getLevel();
+			jfrEvent.outcome = outcome.toString();
+			if (outcome == JfrStatChangedEvent.Outcome.SUPPRESSED)
+			{
+				jfrEvent.reason = SuppressionReason.XP_THRESHOLD.toString();
+			}
+			jfrEvent.commit();
+		}
+	}
+
+	/**
+	 * @return the {@link JfrStatChangedEvent} outcome of the stat change
+	 */
+	private JfrStatChangedEvent.Outcome updateStat(StatChanged event)
 	{
 		Skill skill = event.getSkill();
 
-		if (!trackedSkills.contains(skill))
-			return;
+		if (!SkillState.isTracked(skill))
+			return JfrStatChangedEvent.Outcome.UNTRACKED;
 
-		int xpDiff = event.getXp() - playerExperience.getOrDefault(skill, -1);
+		int xpDiff = event.getXp() - skillState.getExperience(skill);
 		int boost = event.getBoostedLevel() - event.getLevel();
+		int previousBoost = skillState.getBoost(skill);
+		int tick = clientView.getTickCount();
 
-		playerBoosts.put(skill, boost);
-		playerExperience.put(skill, event.getXp());
+		if (xpDiff == 0 && previousBoost > 0 && boost == previousBoost - 1)
+		{
+			boostDecayScheduler.decayObserved(tick);
+		}
 
-		if (config.experienceThreshold() > 0 && xpDiff > config.experienceThreshold())
+		skillState.setBoost(skill, boost);
+		skillState.setExperience(skill, event.getXp());
+		if (skillState.setLevel(skill, event.getLevel()))
+		{
+			boostGainTable.rebuild(potionRegistry, inventoryIndex, skillState);
+		}
+		updateBoostLatch(skill, boost);
+		boostDecayScheduler.update(skill, getBoostThreshold(skill), tick);
+
+		if (!skillState.isLow(skill) && alertedSkills.remove(skill))
+		{
+			if (alertedSkills.isEmpty())
+			{
+				clearAlert(AlertState.IDLE);
+			}
+			else
+			{
+				updateInfoBoxes();
+			}
+		}
+
+		if (configSnapshot.getExperienceThreshold() > 0 && xpDiff > configSnapshot.getExperienceThreshold())
+		{
+			metrics.suppressed(SuppressionReason.XP_THRESHOLD, 1);
+			return JfrStatChangedEvent.Outcome.SUPPRESSED;
+		}
+
+		if (clientView.getGameCycle() == potionLastDrankGameCycle)
+			return JfrStatChangedEvent.Outcome.DRINKING;
+
+		pendingSkills.add(skill);
+		return JfrStatChangedEvent.Outcome.QUEUED;
+	}
+
+	void onGameTick(GameTick event)
+	{
+		metrics.handled(PluginMetrics.Handler.GAME_TICK);
+
+		if (alertState == AlertState.COOLDOWN)
+		{
+			pendingSkills.clear();
+			alertState = AlertState.IDLE;
 			return;
+		}
 
-		if (client.getGameCycle() == potionLastDrankGameCycle)
+		int tick = clientView.getTickCount();
+		if (boostDecayScheduler.collectDue(tick, dueSkills))
+		{
+			// No StatChanged has lowered these boosts yet, so latch them on the predicted boost
+			for (Skill skill : dueSkills)
+			{
+				updateBoostLatch(skill, boostDecayScheduler.predictedBoost(skill, tick));
+			}
+			pendingSkills.addAll(dueSkills);
+			dueSkills.clear();
+		}
+
+		if (!pendingSkills.isEmpty())
+		{
+			evaluatePendingSkills();
+		}
+
+		if (alertState == AlertState.ACTIVE)
+		{
+			// Flush before expiring, so an alert raised this tick with a zero timeout still notifies
+			notificationCoalescer.flush(tick);
+			if (tick >= alertExpiryTick)
+			{
+				clearAlert(AlertState.IDLE);
+			}
+		}
+	}
+
+	void onChatMessage(ChatMessage event)
+	{
+		metrics.handled(PluginMetrics.Handler.CHAT_MESSAGE);
+
+		ChatMessageType type = event.getType();
+		if (type != ChatMessageType.GAMEMESSAGE && type != ChatMessageType.SPAM)
 			return;
 
-		if (shouldAlert(skill))
+		if (BOOST_CONSUMED_MESSAGES.matches(event.getMessage()))
 		{
-			alert();
+			potionLastDrankGameCycle = clientView.getGameCycle();
+			drinkReported();
+			pendingSkills.clear();
+			clearAlert(AlertState.COOLDOWN);
 		}
 	}
 
-	@Subscribe
-	public void onGameTick(GameTick event)
+	void onGraphicChanged(GraphicChanged event)
 	{
-		if (null != alertStart && Instant.now().minusSeconds(config.timeout()).isAfter(alertStart))
+		metrics.handled(PluginMetrics.Handler.GRAPHIC_CHANGED);
+
+		Actor actor = event.getActor();
+		if (!clientView.isLocalPlayer(actor))
+			return;
+
+		if (clientView.hasSpotAnim(actor, potionRegistry::isBoostSpotAnim))
 		{
-			clearAlert();
+			drinkReported();
+			clearAlert(AlertState.COOLDOWN);
 		}
 	}
 
-	@Subscribe
-	public void onChatMessage(ChatMessage event)
+	private void alert()
 	{
-		String msg = Text.removeTags(event.getMessage());
+		JfrAlertEvent jfrEvent = new JfrAlertEvent();
+		jfrEvent.begin();
+		AlertState previousState = alertState;
+
+		int tick = clientView.getTickCount();
+
+		alertExpiryTick = tick + configSnapshot.getTimeoutTicks();
 
-		if (msg.contains("You drink some of your") || msg.contains("You crush the salts"))
+		if (eventRecorder != null)
+		{
+			eventRecorder.recordAlert(alertedSkills);
+		}
+		if (!configSnapshot.isShouldNotify())
 		{
-			potionLastDrankGameCycle = client.getGameCycle();
-			clearAlert();
+			// Otherwise recorded when the notification is sent
+			metrics.alerted(alertedSkills, tick);
+		}
+
+		if (alertState == AlertState.IDLE)
+		{
+			alertState = AlertState.ACTIVE;
+			showAlertUi();
+		}
+		else
+		{
+			updateInfoBoxes();
+		}
+
+		boolean notified = configSnapshot.isShouldNotify() && notificationCoalescer.offer(alertedSkills,
+				configSnapshot.getAlertMessage(), configSnapshot.getNotifyCooldownTicks(), tick);
+
+		if (jfrEvent.shouldCommit())
+		{
+			jfrEvent.skills = alertedSkills.toString();
+			jfrEvent.previousState = previousState.name();
+			jfrEvent.notified = notified;
+			jfrEvent.commit();
 		}
 	}
 
 	@Subscribe
-	public void onGraphicChanged(GraphicChanged event)
+	public void onCommandExecuted(CommandExecuted event)
 	{
-		if ((event.getActor().hasSpotAnim(IMBUED_HEART_GRAPHIC) ||  event.getActor().hasSpotAnim(SATURATED_HEART_GRAPHIC))
-				&& Objects.equals(event.getActor().getName(), client.getLocalPlayer().getName()))
+		if (!"unpotted".equalsIgnoreCase(event.getCommand()) || !metrics.isEnabled())
 		{
-			clearAlert();
+			return;
+		}
+
+		if (event.getArguments().length > 0 && "reset".equalsIgnoreCase(event.getArguments()[0]))
+		{
+			metrics.reset();
+			clientView.addGameMessage("Unpotted Reminder metrics reset");
+			return;
+		}
+
+		for (String[] line : metrics.describe())
+		{
+			String text = line[0] + ": " + line[1];
+			log.info("Unpotted Reminder metrics - {}", text);
+			clientView.addGameMessage(text);
 		}
 	}
 
-	private void alert()
+	/**
+	 * Registers the {@link AlertSubscriber} while an alert is possible: a style is enabled, the instance and
+	 * region requirements are met and the inventory holds a boost item. Skill state isn't followed while
+	 * unregistered, so it is read back from the client on registering.
+	 */
+	private void updateAlertSubscriber()
 	{
-		boolean shouldNotify = (config.shouldNotify()
-				&& (null == lastNotify || Instant.now().minusSeconds(config.notifyCooldown()).isAfter(lastNotify)));
+		boolean canAlert = configSnapshot.isAnyStyleEnabled()
+				&& (!configSnapshot.isOnlyInInstances() || clientView.isInInstancedRegion())
+				&& regionFilter.allows(regionTracker.getRegionId())
+				&& inventoryIndex.hasAny();
 
-		alertStart = Instant.now();
+		if (canAlert == alertSubscriberRegistered)
+		{
+			return;
+		}
 
-		if (config.showOverlay())
+		alertSubscriberRegistered = canAlert;
+		if (canAlert)
+		{
+			resyncSkills();
+			eventBus.register(alertSubscriber);
+		}
+		else
 		{
-			if (config.alertDisplayMode() == AlertDisplayMode.INFOBOX)
+			eventBus.unregister(alertSubscriber);
+			pendingSkills.clear();
+			if (alertState != AlertState.IDLE)
 			{
-				if (!infoBoxManager.getInfoBoxes().contains(infoBox))
-				{
-					infoBoxManager.addInfoBox(infoBox);
-				}
+				clearAlert(AlertState.IDLE);
 			}
-			else
+		}
+	}
+
+	/**
+	 * Registers the {@link RegionTracker} while the region filter lists some regions, so the player's position
+	 * isn't read every tick when no region can change the alert.
+	 */
+	private void updateRegionTracker()
+	{
+		boolean track = !regionFilter.isEmpty();
+		if (track == regionTrackerRegistered)
+		{
+			return;
+		}
+
+		regionTrackerRegistered = track;
+		if (track)
+		{
+			regionTracker.refresh();
+			eventBus.register(regionTracker);
+		}
+		else
+		{
+			eventBus.unregister(regionTracker);
+			regionTracker.clear();
+		}
+	}
+
+	private void resyncSkills()
+	{
+		if (clientView.getGameState() != GameState.LOGGED_IN)
+		{
+			return;
+		}
+
+		int tick = clientView.getTickCount();
+		for (Skill skill : SkillState.TRACKED_SKILLS)
+		{
+			skillState.setExperience(skill, clientView.getSkillExperience(skill));
+			skillState.setLevel(skill, clientView.getRealSkillLevel(skill));
+			skillState.setBoost(skill, clientView.getBoostedSkillLevel(skill) - clientView.getRealSkillLevel(skill));
+			updateBoostLatch(skill, skillState.getBoost(skill));
+			boostDecayScheduler.update(skill, getBoostThreshold(skill), tick);
+		}
+		boostGainTable.rebuild(potionRegistry, inventoryIndex, skillState);
+	}
+
+	private void updateMetrics()
+	{
+		metrics.setEnabled(configSnapshot.isDebugMetrics());
+		if (configSnapshot.isDebugMetrics())
+		{
+			overlayManager.add(metricsOverlay);
+		}
+		else
+		{
+			overlayManager.remove(metricsOverlay);
+		}
+	}
+
+	private void updateRecording()
+	{
+		if (configSnapshot.isRecordEvents() && eventRecorder == null)
+		{
+			startRecording();
+		}
+		else if (!configSnapshot.isRecordEvents() && eventRecorder != null)
+		{
+			stopRecording();
+		}
+	}
+
+	private void startRecording()
+	{
+		File directory = new File(RuneLite.RUNELITE_DIR, "unpotted-reminder");
+		File file = new File(directory, "events-" + System.currentTimeMillis() + ".bin.gz");
+
+		EventRecorder recorder;
+		try
+		{
+			recorder = EventRecorder.open(clientView, file, configSnapshot, executor);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to start recording events to {}", file, e);
+			return;
+		}
+
+		eventRecorder = recorder;
+		clientThread.invoke(() ->
+		{
+			if (eventRecorder != recorder)
 			{
-				overlayManager.add(overlay);
+				return;
 			}
-		}
 
-		if (shouldNotify)
+			if (clientView.getGameState() == GameState.LOGGED_IN)
+			{
+				recorder.recordClientState(SkillState.TRACKED_SKILLS);
+			}
+			eventBus.register(recorder);
+		});
+		log.info("Recording events to {}", file);
+	}
+
+	private void stopRecording()
+	{
+		EventRecorder recorder = eventRecorder;
+		if (recorder == null)
 		{
-			notifier.notify(resolveAlertMessage(config));
-			lastNotify = Instant.now();
+			return;
 		}
+
+		eventRecorder = null;
+		eventBus.unregister(recorder);
+		clientThread.invoke(recorder::close);
 	}
 
 	static String resolveAlertMessage(UnpottedReminderConfig config)
@@ -324,43 +799,277 @@ public class UnpottedReminderPlugin extends Plugin
 		return message == null || message.trim().isEmpty() ? DEFAULT_ALERT_MESSAGE : message;
 	}
 
-	private void clearAlert()
+	private void clearAlert(AlertState nextState)
+	{
+		JfrAlertClearedEvent jfrEvent = new JfrAlertClearedEvent();
+		jfrEvent.begin();
+		AlertState previousState = alertState;
+
+		if (eventRecorder != null)
+		{
+			eventRecorder.recordClear(alertState, nextState);
+		}
+
+		if (alertState == AlertState.ACTIVE)
+		{
+			hideAlertUi();
+		}
+
+		alertedSkills.clear();
+		alertState = nextState;
+		notificationCoalescer.cancel();
+
+		if (jfrEvent.shouldCommit())
+		{
+			jfrEvent.previousState = previousState.name();
+			jfrEvent.nextState = nextState.name();
+			jfrEvent.commit();
+		}
+	}
+
+	private void showAlertUi()
 	{
-		overlayManager.remove(overlay);
-		infoBoxManager.removeInfoBox(infoBox);
-		alertStart = null;
+		shownDisplayMode = displayModeFor(configSnapshot);
+		if (shownDisplayMode == AlertDisplayMode.INFOBOX)
+		{
+			updateInfoBoxes();
+		}
+		else if (shownDisplayMode == AlertDisplayMode.OVERLAY)
+		{
+			overlayManager.add(overlay);
+		}
 	}
 
-	private boolean shouldAlert(Skill skill)
+	private void hideAlertUi()
 	{
-		if (client.getGameState() != GameState.LOGGED_IN)
-			return false;
+		if (shownDisplayMode == AlertDisplayMode.INFOBOX)
+		{
+			for (BoostStyle style : shownInfoBoxes)
+			{
+				infoBoxManager.removeInfoBox(infoBoxes.get(style));
+			}
+			shownInfoBoxes.clear();
+		}
+		else if (shownDisplayMode == AlertDisplayMode.OVERLAY)
+		{
+			overlayManager.remove(overlay);
+		}
+		shownDisplayMode = null;
+	}
 
-		if (Skill.DEFENCE.equals(skill))
-			skill = getPrimarySkillForDefensive();
+	/**
+	 * Shows an infobox for each style with an alerted skill, and refreshes the icon and text of each shown
+	 * one. Called whenever the alerted skills, the inventory or the config change.
+	 */
+	private void updateInfoBoxes()
+	{
+		if (shownDisplayMode != AlertDisplayMode.INFOBOX)
+		{
+			return;
+		}
 
-		if (isSkillDisabled(skill))
-			return false;
+		for (BoostStyle style : BoostStyle.values())
+		{
+			UnpottedReminderInfoBox infoBox = infoBoxes.get(style);
+			if (!isStyleAlerted(style))
+			{
+				if (shownInfoBoxes.remove(style))
+				{
+					infoBoxManager.removeInfoBox(infoBox);
+				}
+				continue;
+			}
 
-		if (!client.isInInstancedRegion() && config.onlyInInstances())
-			return false;
+			BufferedImage icon = iconCache.get(boostItemFor(style), infoBoxTint());
+			boolean iconChanged = infoBox.getImage() != icon;
+			infoBox.update(icon, getProjectedBoostCycles(style), doseLedger.getTicksPerCycle(),
+					configSnapshot.getAlertMessage());
+			if (shownInfoBoxes.add(style))
+			{
+				infoBoxManager.addInfoBox(infoBox);
+			}
+			else if (iconChanged)
+			{
+				infoBoxManager.updateInfoBoxImage(infoBox);
+			}
+		}
+	}
 
-		if (!interactingShouldAlert())
-			return false;
+	/**
+	 * A fully transparent tint, the default, leaves the icons unpainted.
+	 */
+	private Color infoBoxTint()
+	{
+		Color tint = configSnapshot.getInfoBoxTint();
+		return tint != null && tint.getAlpha() > 0 ? tint : null;
+	}
+
+	/**
+	 * The infobox manager draws a scaled copy of each infobox image, so the infoboxes showing an icon have to
+	 * be updated once it has been painted.
+	 */
+	private void onIconPainted(BufferedImage icon)
+	{
+		for (BoostStyle style : shownInfoBoxes)
+		{
+			UnpottedReminderInfoBox infoBox = infoBoxes.get(style);
+			if (infoBox.getImage() == icon)
+			{
+				infoBoxManager.updateInfoBoxImage(infoBox);
+			}
+		}
+	}
+
+	private boolean isStyleAlerted(BoostStyle style)
+	{
+		for (Skill skill : alertedSkills)
+		{
+			if (BoostStyle.of(skill) == style)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return the item that would be drunk for the style's alerted skills, or an empty vial if none is known
+	 */
+	private int boostItemFor(BoostStyle style)
+	{
+		boolean heartAvailable = combatStyleTracker.isHeartAvailable();
+		int itemId = boostGainTable.bestItem(style.getPrimarySkill(), heartAvailable);
+		for (Skill skill : alertedSkills)
+		{
+			if (itemId >= 0)
+				break;
+
+			if (BoostStyle.of(skill) == style)
+				itemId = boostGainTable.bestItem(skill, heartAvailable);
+		}
+		return itemId >= 0 ? itemId : ItemID.VIAL_EMPTY;
+	}
+
+	/**
+	 * @return how the alert is displayed, or null when the visual alert is turned off
+	 */
+	private static AlertDisplayMode displayModeFor(ConfigSnapshot config)
+	{
+		return config.isShowOverlay() ? config.getAlertDisplayMode() : null;
+	}
+
+	/**
+	 * Evaluates every skill that changed during the tick in one pass. The checks that don't depend on the
+	 * skill (login state, instance and target) are done once for the whole batch.
+	 */
+	private void evaluatePendingSkills()
+	{
+		long start = metrics.isEnabled() ? System.nanoTime() : 0;
+		boolean shouldAlert = false;
+
+		SuppressionReason batchReason = batchSuppressionReason();
+		if (batchReason != null)
+		{
+			metrics.suppressed(batchReason, pendingSkills.size());
+			for (Skill skill : pendingSkills)
+			{
+				JfrAlertDecisionEvent jfrEvent = new JfrAlertDecisionEvent();
+				if (jfrEvent.shouldCommit())
+				{
+					commitDecision(jfrEvent, skill, batchReason);
+				}
+			}
+		}
+		else
+		{
+			for (Skill skill : pendingSkills)
+			{
+				JfrAlertDecisionEvent jfrEvent = new JfrAlertDecisionEvent();
+				jfrEvent.begin();
+
+				if (Skill.DEFENCE == skill)
+					skill = combatStyleTracker.getDefensivePrimarySkill();
+
+				SuppressionReason reason = suppressionReason(skill);
+				if (reason == null)
+				{
+					alertedSkills.add(skill);
+					shouldAlert = true;
+				}
+				else
+				{
+					metrics.suppressed(reason, 1);
+				}
+
+				if (jfrEvent.shouldCommit())
+				{
+					commitDecision(jfrEvent, skill, reason);
+				}
+			}
+		}
+		pendingSkills.clear();
+
+		if (shouldAlert)
+		{
+			alert();
+		}
+
+		if (metrics.isEnabled())
+		{
+			metrics.getDecisionNanos().record(System.nanoTime() - start);
+		}
+	}
+
+	private static void commitDecision(JfrAlertDecisionEvent jfrEvent, Skill skill, SuppressionReason reason)
+	{
+		jfrEvent.skill = skill.getName();
+		jfrEvent.alerted = reason == null;
+		jfrEvent.reason = reason == null ? null : reason.toString();
+		jfrEvent.commit();
+	}
+
+	/**
+	 * @return why none of this tick's skills can alert, or null if each skill needs checking
+	 */
+	private SuppressionReason batchSuppressionReason()
+	{
+		if (clientView.getGameState() != GameState.LOGGED_IN)
+			return SuppressionReason.NOT_LOGGED_IN;
+
+		if (!clientView.isInInstancedRegion() && configSnapshot.isOnlyInInstances())
+			return SuppressionReason.NOT_INSTANCED;
+
+		if (!clientView.isInteracting())
+		{
+			return configSnapshot.isAlertWhenNotInteracting() ? null : SuppressionReason.NOT_INTERACTING;
+		}
+
+		return npcFilter.allows(clientView.getInteractingName()) ? null : SuppressionReason.BLACKLISTED;
+	}
+
+	/**
+	 * @return why the skill should not alert, or null if it should
+	 */
+	private SuppressionReason suppressionReason(Skill skill)
+	{
+		if (isSkillDisabled(skill))
+			return SuppressionReason.DISABLED_SKILL;
 
 		if (!hasBoostPotionInInventory(skill))
-			return false;
+			return SuppressionReason.NO_POTION;
 
-		return isBoostBelowThreshold(skill);
+		if (!isBoostBelowThreshold(skill))
+			return SuppressionReason.BOOSTED;
+
+		return isBoostGainWorthwhile(skill) ? null : SuppressionReason.SMALL_GAIN;
 	}
 
-	private Skill getPrimarySkillForDefensive()
+	private boolean isBoostGainWorthwhile(Skill skill)
 	{
-		if (usingDefensiveMagic())
-			return Skill.MAGIC;
-		if (usingDefensiveRanged())
-			return Skill.RANGED;
-		return Skill.STRENGTH;
+		int minimumGain = configSnapshot.getMinimumBoostGain();
+		if (minimumGain <= 0)
+			return true;
+
+		int expectedBoost = boostGainTable.expectedBoost(skill, combatStyleTracker.isHeartAvailable());
+		return expectedBoost - skillState.getBoost(skill) >= minimumGain;
 	}
 
 	private boolean isSkillDisabled(Skill skill)
@@ -368,121 +1077,135 @@ public class UnpottedReminderPlugin extends Plugin
 		switch (skill)
 		{
 			case MAGIC:
-				return !config.enableMagic();
+				return !configSnapshot.isEnableMagic();
 			case RANGED:
-				return !config.enableRanged();
+				return !configSnapshot.isEnableRanged();
 			case ATTACK:
 			case STRENGTH:
-				return !config.enableMelee();
+				return !configSnapshot.isEnableMelee();
 			default:
 				return true;
 		}
 	}
 
-	private boolean interactingShouldAlert()
+	/**
+	 * @return how many more boost cycles the doses in the inventory last for the style's alerted skills, or -1
+	 * if none of its skills are alerted or only a heart, which never runs out, is left for them
+	 */
+	private int getProjectedBoostCycles(BoostStyle style)
 	{
-		String interactingName = client.getLocalPlayer().getInteracting() != null
-				? client.getLocalPlayer().getInteracting().getName() : null;
-
-		if (null == interactingName)
+		int doses = Integer.MAX_VALUE;
+		for (Skill skill : alertedSkills)
 		{
-			return config.alertWhenNotInteracting();
+			if (BoostStyle.of(skill) != style || (skill == Skill.MAGIC && inventoryIndex.has(PotionRegistry.HEART)))
+				continue;
+
+			doses = Math.min(doses, inventoryIndex.getDoses(potionCategoryFor(skill)) + inventoryIndex.getDoses(PotionRegistry.OVERLOAD));
 		}
-		else
-		{
-			boolean isBlackListed = config.useBlacklist() && blacklisted.stream().anyMatch(npcName -> WildcardMatcher.matches(npcName, interactingName));
-			boolean isWhitelisted = !config.useWhitelist() || whitelisted.stream().anyMatch(npcName -> WildcardMatcher.matches(npcName, interactingName));
 
-			return isWhitelisted && !isBlackListed;
+		return doses == Integer.MAX_VALUE ? -1 : doseLedger.cyclesLeft(doses);
+	}
+
+	private static int potionCategoryFor(Skill skill)
+	{
+		switch (skill)
+		{
+			case ATTACK:
+				return PotionRegistry.ATTACK;
+			case RANGED:
+				return PotionRegistry.RANGED;
+			case MAGIC:
+				return PotionRegistry.MAGIC;
+			default:
+				return PotionRegistry.STRENGTH;
 		}
 	}
 
 	private boolean hasBoostPotionInInventory(Skill skill)
 	{
-		if (MELEE_SKILLS.contains(skill) && config.enableMelee() && hasMeleePotion(skill))
+		if (SkillState.isMelee(skill) && configSnapshot.isEnableMelee() && hasMeleePotion(skill))
 			return true;
 
-		if (Skill.RANGED == skill && config.enableRanged()
-				&& Arrays.stream(playerItems).anyMatch(item -> RANGED_POTIONS.contains(item.getId())))
+		if (Skill.RANGED == skill && configSnapshot.isEnableRanged() && inventoryIndex.has(PotionRegistry.RANGED))
 			return true;
 
-		if (Skill.MAGIC == skill && config.enableMagic() && Arrays.stream(playerItems).anyMatch(item ->
-				(((item.getId() == ItemID.IMBUED_HEART || item.getId() == ItemID.SATURATED_HEART) && isHeartAvailable())
-						|| MAGIC_POTIONS.contains(item.getId()))))
+		if (Skill.MAGIC == skill && configSnapshot.isEnableMagic() && (inventoryIndex.has(PotionRegistry.MAGIC)
+				|| (inventoryIndex.has(PotionRegistry.HEART) && combatStyleTracker.isHeartAvailable())))
 			return true;
 
-		return (config.enableMelee() || config.enableRanged() || config.enableMagic())
-				&& Arrays.stream(playerItems).anyMatch(item -> OVERLOADS.contains(item.getId()));
-	}
-
-	private boolean isHeartAvailable()
-	{
-		return client.getVarbitValue(Varbits.IMBUED_HEART_COOLDOWN) == 0;
+		return configSnapshot.isAnyStyleEnabled()
+				&& inventoryIndex.has(PotionRegistry.OVERLOAD);
 	}
 
 	private boolean hasMeleePotion(Skill skill)
 	{
 		if (skill == Skill.ATTACK)
-			return Arrays.stream(playerItems).anyMatch(item -> ATTACK_POTIONS.contains(item.getId()));
+			return inventoryIndex.has(PotionRegistry.ATTACK);
 
 		if (skill == Skill.STRENGTH)
-			return Arrays.stream(playerItems).anyMatch(item -> STRENGTH_POTIONS.contains(item.getId()));
+			return inventoryIndex.has(PotionRegistry.STRENGTH);
 
 		return false;
 	}
 
 	private boolean isBoostBelowThreshold(Skill skill)
 	{
-		if (MELEE_SKILLS.contains(skill) && config.enableMelee() && isMeleeBoostBelowThreshold(skill))
+		if (SkillState.isMelee(skill) && configSnapshot.isEnableMelee() && isMeleeBoostBelowThreshold(skill))
 			return true;
 
-		if (Skill.RANGED == skill && config.enableRanged()
-				&& playerBoosts.getOrDefault(Skill.RANGED, -1) <= config.rangedBoostThreshold())
+		if (Skill.RANGED == skill && configSnapshot.isEnableRanged() && isBoostLow(Skill.RANGED))
 			return true;
 
-		return (Skill.MAGIC == skill && config.enableMagic()
-				&& playerBoosts.getOrDefault(Skill.MAGIC, -1) <= config.magicBoostThreshold());
+		return (Skill.MAGIC == skill && configSnapshot.isEnableMagic() && isBoostLow(Skill.MAGIC));
 	}
 
 	private boolean isMeleeBoostBelowThreshold(Skill skill)
 	{
 		if (Skill.STRENGTH == skill)
 		{
-			return playerBoosts.getOrDefault(Skill.STRENGTH, -1) <= config.meleeBoostThreshold();
+			return isBoostLow(Skill.STRENGTH);
 		}
 
-		if (Skill.ATTACK == skill && (config.meleeAlertStyle() == MeleeAlertStyle.ATTACK_AND_STRENGTH))
+		if (Skill.ATTACK == skill && (configSnapshot.getMeleeAlertStyle() == MeleeAlertStyle.ATTACK_AND_STRENGTH))
 		{
-			return playerBoosts.getOrDefault(Skill.ATTACK, -1) <= config.meleeBoostThreshold();
+			return isBoostLow(Skill.ATTACK);
 		}
 
 		return false;
 	}
 
-	private boolean usingDefensiveMagic()
+	private boolean isBoostLow(Skill skill)
 	{
-		int defensiveCasting = client.getVarbitValue(Varbits.DEFENSIVE_CASTING_MODE);
-		int currentAttackStyleVarbit = client.getVarpValue(VarPlayer.ATTACK_STYLE);
-		int equippedWeaponTypeVarbit = client.getVarbitValue(Varbits.EQUIPPED_WEAPON_TYPE);
+		return !skillState.isBoostKnown(skill) || skillState.isLow(skill);
+	}
 
-		if (POWERED_STAFF_WEAPONTYPES.contains(equippedWeaponTypeVarbit) && ATTACK_STYLE_DEFENSIVE == currentAttackStyleVarbit)
+	private void updateBoostLatch(Skill skill, int boost)
+	{
+		if (skillState.updateLow(skill, boost, getBoostThreshold(skill), configSnapshot.getThresholdHysteresis()))
 		{
-			return true;
+			metrics.boostLow(skill, clientView.getTickCount());
+		}
+		else
+		{
+			metrics.boostRecovered(skill);
 		}
-
-		return (DEFENSIVE_CASTING_WEAPONTYPES.contains(equippedWeaponTypeVarbit) && defensiveCasting == 1);
 	}
 
-	private boolean usingDefensiveRanged()
+	private int getBoostThreshold(Skill skill)
 	{
-		int currentAttackStyleVarbit = client.getVarpValue(VarPlayer.ATTACK_STYLE);
-		int equippedWeaponTypeVarbit = client.getVarbitValue(Varbits.EQUIPPED_WEAPON_TYPE);
-
-		return (RANGED_WEAPONTYPES.contains(equippedWeaponTypeVarbit) && ATTACK_STYLE_DEFENSIVE == currentAttackStyleVarbit);
-	}
+		if (regionProfile != null)
+		{
+			return regionProfile.thresholdFor(skill);
+		}
 
-	private List<String> splitList(String list)
-	{
-		return Arrays.stream(list.split(",")).map(String::trim).collect(Collectors.toList());
+		switch (skill)
+		{
+			case MAGIC:
+				return configSnapshot.getMagicBoostThreshold();
+			case RANGED:
+				return configSnapshot.getRangedBoostThreshold();
+			default:
+				return configSnapshot.getMeleeBoostThreshold();
+		}
 	}
 }
@@ -0,0 +1,79 @@
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BoostDecaySchedulerTest
+{
+	private static final int THRESHOLD = 5;
+
+	private final SkillState skillState = new SkillState();
+	private final BoostDecayScheduler scheduler = new BoostDecayScheduler(null, skillState);
+	private final Set<Skill> due = EnumSet.noneOf(Skill.class);
+
+	private void observe(Skill skill, int boost, int tick)
+	{
+		skillState.setBoost(skill, boost);
+		scheduler.update(skill, THRESHOLD, tick);
+	}
+
+	@Test
+	public void nothingIsDueUntilADecayIsObserved()
+	{
+		observe(Skill.STRENGTH, 10, 0);
+
+		assertFalse(scheduler.collectDue(10_000, due));
+		assertEquals(10, scheduler.predictedBoost(Skill.STRENGTH, 10_000));
+	}
+
+	@Test
+	public void predictsTheBoostOnTheCrossingTick()
+	{
+		scheduler.decayObserved(0);
+		observe(Skill.STRENGTH, 10, 0);
+
+		assertFalse(scheduler.collectDue(499, due));
+		assertTrue(scheduler.collectDue(500, due));
+		assertEquals(EnumSet.of(Skill.STRENGTH), due);
+		assertEquals(THRESHOLD, scheduler.predictedBoost(Skill.STRENGTH, 500));
+	}
+
+	@Test
+	public void countsOnlyTheDecaysSinceTheBoostWasSeen()
+	{
+		scheduler.decayObserved(0);
+		observe(Skill.RANGED, 8, 150);
+
+		assertEquals(8, scheduler.predictedBoost(Skill.RANGED, 199));
+		assertEquals(6, scheduler.predictedBoost(Skill.RANGED, 399));
+		assertEquals(0, scheduler.predictedBoost(Skill.RANGED, 5_000));
+	}
+
+	@Test
+	public void aBoostAtTheThresholdIsNeverDue()
+	{
+		scheduler.decayObserved(0);
+		observe(Skill.ATTACK, THRESHOLD, 0);
+
+		assertFalse(scheduler.collectDue(10_000, due));
+	}
+
+	@Test
+	public void aLaterDecayReschedulesFromTheLastSeenBoost()
+	{
+		observe(Skill.MAGIC, 7, 40);
+		scheduler.decayObserved(90);
+
+		assertEquals(THRESHOLD, scheduler.predictedBoost(Skill.MAGIC, 190));
+		assertFalse(scheduler.collectDue(189, due));
+		assertTrue(scheduler.collectDue(190, due));
+		assertEquals(EnumSet.of(Skill.MAGIC), due);
+	}
+}
@@ -0,0 +1,69 @@
+package com.unpottedreminder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChatPhraseMatcherTest
+{
+	private static final ChatPhraseMatcher DRINKS = ChatPhraseMatcher.of("You drink some of your", "You crush the salts");
+
+	@Test
+	public void findsAnyPhraseAnywhereInTheMessage()
+	{
+		assertTrue(DRINKS.matches("You drink some of your super combat potion."));
+		assertTrue(DRINKS.matches("You crush the salts and inhale them."));
+		assertTrue(DRINKS.matches("[12:00] You drink some of your"));
+		assertFalse(DRINKS.matches("You drink the potion."));
+		assertFalse(DRINKS.matches(""));
+	}
+
+	@Test
+	public void isCaseSensitive()
+	{
+		assertFalse(DRINKS.matches("you drink some of your ranging potion."));
+	}
+
+	@Test
+	public void skipsTagsInPlace()
+	{
+		assertTrue(DRINKS.matches("<col=ef1020>You drink some of your divine magic potion.</col>"));
+		assertTrue(DRINKS.matches("You drink <col=ff0000>some</col> of your ranging potion."));
+		assertFalse(DRINKS.matches("You drink some of <img=1>"));
+	}
+
+	@Test
+	public void stopsAtAnUnclosedTag()
+	{
+		assertFalse(DRINKS.matches("<col=ff0000 You drink some of your super combat potion."));
+	}
+
+	@Test
+	public void nonAsciiCharactersBreakAMatch()
+	{
+		assertFalse(DRINKS.matches("You drink some of\u00a0your super combat potion."));
+	}
+
+	@Test
+	public void followsFailureLinksBetweenOverlappingPhrases()
+	{
+		ChatPhraseMatcher matcher = ChatPhraseMatcher.of("abcd", "bce", "aab");
+
+		assertTrue(matcher.matches("xabce"));
+		assertTrue(matcher.matches("aaab"));
+		assertFalse(matcher.matches("abcxd"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsAnEmptyPhrase()
+	{
+		ChatPhraseMatcher.of("You drink", "");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsTagCharactersInAPhrase()
+	{
+		ChatPhraseMatcher.of("<col=ff0000>You drink");
+	}
+}
@@ -0,0 +1,24 @@
+package com.unpottedreminder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConfigSnapshotTest
+{
+	@Test
+	public void convertsWholeTicks()
+	{
+		assertEquals(0, ConfigSnapshot.secondsToTicks(0));
+		assertEquals(5, ConfigSnapshot.secondsToTicks(3));
+		assertEquals(100, ConfigSnapshot.secondsToTicks(60));
+	}
+
+	@Test
+	public void roundsPartialTicksUp()
+	{
+		assertEquals(2, ConfigSnapshot.secondsToTicks(1));
+		assertEquals(9, ConfigSnapshot.secondsToTicks(5));
+		assertEquals(17, ConfigSnapshot.secondsToTicks(10));
+	}
+}
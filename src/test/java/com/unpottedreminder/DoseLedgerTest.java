@@ -0,0 +1,65 @@
+package com.unpottedreminder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DoseLedgerTest
+{
+	private final DoseLedger ledger = new DoseLedger();
+
+	@Test
+	public void assumesOneDosePerCycleBeforeAnyDrink()
+	{
+		assertEquals(7, ledger.cyclesLeft(7));
+		assertEquals(DoseLedger.UNKNOWN, ledger.getTicksPerCycle());
+	}
+
+	@Test
+	public void drinksCloseTogetherAreOneCycle()
+	{
+		ledger.drinkObserved(100);
+		ledger.drinkObserved(102);
+		ledger.drinkObserved(600);
+		ledger.drinkObserved(605);
+
+		assertEquals(4, ledger.cyclesLeft(8));
+		assertEquals(500, ledger.getTicksPerCycle());
+	}
+
+	@Test
+	public void averagesTheRecentCycleIntervals()
+	{
+		ledger.drinkObserved(0);
+		ledger.drinkObserved(300);
+		ledger.drinkObserved(900);
+
+		assertEquals(450, ledger.getTicksPerCycle());
+		assertEquals(6, ledger.cyclesLeft(6));
+	}
+
+	@Test
+	public void forgetsIntervalsOlderThanTheSampleWindow()
+	{
+		ledger.drinkObserved(0);
+		ledger.drinkObserved(10_000);
+		for (int i = 1; i <= 8; i++)
+		{
+			ledger.drinkObserved(10_000 + i * 100);
+		}
+
+		assertEquals(100, ledger.getTicksPerCycle());
+	}
+
+	@Test
+	public void clearForgetsEverything()
+	{
+		ledger.drinkObserved(0);
+		ledger.drinkObserved(1);
+		ledger.drinkObserved(500);
+		ledger.clear();
+
+		assertEquals(3, ledger.cyclesLeft(3));
+		assertEquals(DoseLedger.UNKNOWN, ledger.getTicksPerCycle());
+	}
+}
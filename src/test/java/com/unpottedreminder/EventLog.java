@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import lombok.Value;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the logs written by {@link EventRecorder} into memory, so a replay measures the plugin rather than
+ * decompression and parsing.
+ */
+final class EventLog
+{
+	final Map<String, String> config = new LinkedHashMap<>();
+	final List<Record> records = new ArrayList<>();
+
+	/**
+	 * One record. The payload is kept as the ints and strings in the order they were written.
+	 */
+	@Value
+	static class Record
+	{
+		byte type;
+		int gameCycle;
+		int[] ints;
+		String[] strings;
+	}
+
+	/**
+	 * Reads a log as {@link EventRecorder#open} writes it. The stream is not closed.
+	 */
+	static EventLog readGzipped(InputStream in) throws IOException
+	{
+		return read(new DataInputStream(new BufferedInputStream(new GZIPInputStream(in))));
+	}
+
+	static EventLog read(DataInputStream in) throws IOException
+	{
+		EventLog log = new EventLog();
+		if (in.readInt() != EventRecorder.MAGIC)
+		{
+			throw new IOException("Not an event recording");
+		}
+
+		int version = in.readUnsignedShort();
+		if (version != EventRecorder.VERSION)
+		{
+			throw new IOException("Unsupported recording version " + version);
+		}
+
+		int configCount = in.readUnsignedShort();
+		for (int i = 0; i < configCount; i++)
+		{
+			log.config.put(in.readUTF(), in.readUTF());
+		}
+
+		log.records.addAll(readRecords(in));
+		return log;
+	}
+
+	/**
+	 * Reads records up to the end of the stream, as written by a recorder with no header.
+	 */
+	static List<Record> readRecords(DataInputStream in) throws IOException
+	{
+		List<Record> records = new ArrayList<>();
+		while (true)
+		{
+			byte type;
+			try
+			{
+				type = in.readByte();
+			}
+			catch (EOFException e)
+			{
+				return records;
+			}
+
+			records.add(readRecord(type, in.readInt(), in));
+		}
+	}
+
+	private static Record readRecord(byte type, int gameCycle, DataInputStream in) throws IOException
+	{
+		switch (type)
+		{
+			case EventRecorder.TICK:
+			{
+				int tick = in.readInt();
+				int instance = in.readBoolean() ? 1 : 0;
+				int region = in.readInt();
+				byte targetKind = in.readByte();
+				if (targetKind == EventRecorder.TARGET_NONE)
+				{
+					return new Record(type, gameCycle, new int[]{tick, instance, targetKind, -1, region}, new String[]{null});
+				}
+				int targetId = in.readInt();
+				return new Record(type, gameCycle, new int[]{tick, instance, targetKind, targetId, region}, new String[]{in.readUTF()});
+			}
+			case EventRecorder.STAT:
+				return new Record(type, gameCycle,
+						new int[]{in.readUnsignedByte(), in.readInt(), in.readUnsignedShort(), in.readUnsignedShort()}, new String[0]);
+			case EventRecorder.INVENTORY:
+			{
+				int[] items = new int[in.readUnsignedByte() * 2];
+				for (int i = 0; i < items.length; i++)
+				{
+					items[i] = in.readInt();
+				}
+				return new Record(type, gameCycle, items, new String[0]);
+			}
+			case EventRecorder.CHAT:
+				return new Record(type, gameCycle, new int[0], new String[]{in.readUTF(), in.readUTF()});
+			case EventRecorder.GRAPHIC:
+			{
+				int local = in.readBoolean() ? 1 : 0;
+				int[] ints = new int[in.readUnsignedByte() + 1];
+				ints[0] = local;
+				for (int i = 1; i < ints.length; i++)
+				{
+					ints[i] = in.readInt();
+				}
+				return new Record(type, gameCycle, ints, new String[0]);
+			}
+			case EventRecorder.VARBIT:
+				return new Record(type, gameCycle, new int[]{in.readInt(), in.readInt(), in.readInt()}, new String[0]);
+			case EventRecorder.ALERT:
+				return new Record(type, gameCycle, new int[]{in.readInt(), in.readInt()}, new String[0]);
+			case EventRecorder.CLEAR:
+				return new Record(type, gameCycle, new int[]{in.readInt(), in.readUnsignedByte(), in.readUnsignedByte()}, new String[0]);
+			case EventRecorder.EXPERIENCE:
+				return new Record(type, gameCycle,
+						new int[]{in.readUnsignedByte(), in.readInt(), in.readUnsignedShort(), in.readUnsignedShort()}, new String[0]);
+			case EventRecorder.GAME_STATE:
+			{
+				String gameState = in.readUTF();
+				return new Record(type, gameCycle, new int[]{in.readBoolean() ? 1 : 0}, new String[]{gameState});
+			}
+			default:
+				throw new IOException("Unknown record type " + type);
+		}
+	}
+
+	static boolean isDecision(Record record)
+	{
+		return record.getType() == EventRecorder.ALERT || record.getType() == EventRecorder.CLEAR;
+	}
+
+	static String describe(Record record)
+	{
+		switch (record.getType())
+		{
+			case EventRecorder.ALERT:
+				return "alert at tick " + record.getInts()[0] + " for skills 0x" + Integer.toHexString(record.getInts()[1]);
+			case EventRecorder.CLEAR:
+				return "clear at tick " + record.getInts()[0] + " from " + AlertState.values()[record.getInts()[1]]
+						+ " to " + AlertState.values()[record.getInts()[2]];
+			default:
+				return "record " + record.getType() + " at cycle " + record.getGameCycle();
+		}
+	}
+}
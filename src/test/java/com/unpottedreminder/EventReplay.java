@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import net.runelite.api.Actor;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.Constants;
+import net.runelite.api.GameState;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.Skill;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GraphicChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.config.ConfigItem;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Replays a log written by {@link EventRecorder} through a fresh plugin against the fake client of
+ * {@link PluginFixture}, as fast as it will go. The replayed events only touch the fixture's fields, so the
+ * throughput reported in events per second is the plugin's own. Exits with a non-zero status if the alerts
+ * and clears the plugin makes differ from the recorded ones in kind, skills or tick; {@code EventReplayTest}
+ * makes the same check against a recording it writes itself.
+ * <p>
+ * Usage: {@code ./gradlew replay -Precording=<file> [-Ppasses=<n>]}
+ */
+public final class EventReplay
+{
+	private static final int WARMUP_PASSES = 5;
+
+	private final EventLog log;
+
+	EventReplay(EventLog log)
+	{
+		this.log = log;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1)
+		{
+			System.err.println("Usage: EventReplay <recording> [passes]");
+			System.exit(2);
+		}
+
+		EventLog log;
+		try (InputStream in = new FileInputStream(args[0]))
+		{
+			log = EventLog.readGzipped(in);
+		}
+
+		int passes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		EventReplay replay = new EventReplay(log);
+		String mismatch = replay.checkDecisions();
+
+		for (int i = 0; i < WARMUP_PASSES; i++)
+		{
+			replay.timedPass();
+		}
+
+		long events = 0;
+		long nanos = 0;
+		for (int i = 0; i < passes; i++)
+		{
+			long[] pass = replay.timedPass();
+			events += pass[0];
+			nanos += pass[1];
+		}
+
+		System.out.printf("%d events, %d decisions, %d passes%n", events / passes, log.records.stream().filter(EventLog::isDecision).count(), passes);
+		System.out.printf("%.0f events/sec (%.1f ns/event)%n", events * 1e9 / nanos, (double) nanos / events);
+
+		if (mismatch != null)
+		{
+			System.out.println("Decisions differ from the recording: " + mismatch);
+			System.exit(1);
+		}
+		System.out.println("Decisions match the recording");
+	}
+
+	/**
+	 * Replays the log once, recording the plugin's decisions.
+	 *
+	 * @return a description of the first decision that differs from the recorded ones, or null if they match
+	 */
+	String checkDecisions() throws IOException
+	{
+		List<EventLog.Record> expected = log.records.stream().filter(EventLog::isDecision).collect(Collectors.toList());
+		return compare(expected, replayDecisions());
+	}
+
+	private static String compare(List<EventLog.Record> expected, List<EventLog.Record> actual)
+	{
+		for (int i = 0; i < Math.max(expected.size(), actual.size()); i++)
+		{
+			String want = i < expected.size() ? EventLog.describe(expected.get(i)) : "nothing";
+			String got = i < actual.size() ? EventLog.describe(actual.get(i)) : "nothing";
+			if (!want.equals(got))
+			{
+				return "decision " + i + " expected " + want + " but was " + got;
+			}
+		}
+		return null;
+	}
+
+	private List<EventLog.Record> replayDecisions() throws IOException
+	{
+		PluginFixture fixture = newFixture();
+		ByteArrayOutputStream decisions = new ByteArrayOutputStream();
+		EventRecorder recorder = new EventRecorder(fixture, () -> decisions, Runnable::run);
+		fixture.plugin.setEventRecorder(recorder);
+
+		for (Runnable step : prepare(fixture))
+		{
+			step.run();
+		}
+		recorder.close();
+
+		return EventLog.readRecords(new DataInputStream(new ByteArrayInputStream(decisions.toByteArray())));
+	}
+
+	/**
+	 * @return the number of events replayed and the time it took in nanoseconds
+	 */
+	private long[] timedPass()
+	{
+		Runnable[] steps = prepare(newFixture()).toArray(new Runnable[0]);
+
+		long start = System.nanoTime();
+		for (Runnable step : steps)
+		{
+			step.run();
+		}
+		return new long[]{steps.length, System.nanoTime() - start};
+	}
+
+	/**
+	 * Applies the state recorded before the first tick to the fake client and starts the plugin.
+	 */
+	private PluginFixture newFixture()
+	{
+		PluginFixture fixture = new PluginFixture(recordedConfig());
+		fixture.interacting = false;
+		fixture.items = new Item[0];
+
+		for (EventLog.Record record : log.records)
+		{
+			int[] ints = record.getInts();
+			if (record.getType() == EventRecorder.TICK)
+			{
+				fixture.tick = ints[0];
+				break;
+			}
+			else if (record.getType() == EventRecorder.VARBIT)
+			{
+				setVar(fixture, ints[0], ints[1], ints[2]);
+			}
+			else if (record.getType() == EventRecorder.INVENTORY)
+			{
+				fixture.items = items(ints);
+			}
+			else if (record.getType() == EventRecorder.EXPERIENCE)
+			{
+				setSkill(fixture, ints);
+			}
+		}
+
+		return fixture.start();
+	}
+
+	/**
+	 * Turns the records into steps against the fixture. Everything that allocates or stubs is done here, so
+	 * running the steps only costs what the plugin itself costs.
+	 */
+	private List<Runnable> prepare(PluginFixture fixture)
+	{
+		UnpottedReminderPlugin plugin = fixture.plugin;
+		CombatStyleTracker combatStyleTracker = fixture.combatStyleTracker();
+		BoostDecayScheduler boostDecayScheduler = fixture.boostDecayScheduler();
+		RegionTracker regionTracker = fixture.regionTracker();
+		Actor otherPlayer = PluginFixture.actor();
+
+		GameTick gameTick = new GameTick();
+		List<Runnable> steps = new ArrayList<>(log.records.size());
+		for (EventLog.Record record : log.records)
+		{
+			int cycle = record.getGameCycle();
+			int[] ints = record.getInts();
+			switch (record.getType())
+			{
+				case EventRecorder.TICK:
+				{
+					boolean interacting = ints[2] != EventRecorder.TARGET_NONE;
+					String targetName = record.getStrings()[0];
+					boolean inInstance = ints[1] == 1;
+					int regionId = ints[4];
+					steps.add(() ->
+					{
+						fixture.gameCycle = cycle;
+						fixture.tick = ints[0];
+						fixture.inInstance = inInstance;
+						fixture.interacting = interacting;
+						fixture.targetName = targetName;
+						fixture.targetNpcId = ints[3];
+						fixture.regionId = regionId;
+						if (plugin.isRegionTrackerRegistered())
+						{
+							regionTracker.onGameTick(gameTick);
+						}
+						if (plugin.isAlertSubscriberRegistered())
+						{
+							plugin.onGameTick(gameTick);
+						}
+					});
+					break;
+				}
+				case EventRecorder.STAT:
+				{
+					StatChanged event = new StatChanged(Skill.values()[ints[0]], ints[1], ints[2], ints[3]);
+					steps.add(() ->
+					{
+						fixture.gameCycle = cycle;
+						setSkill(fixture, ints);
+						if (plugin.isAlertSubscriberRegistered())
+						{
+							plugin.onStatChanged(event);
+						}
+					});
+					break;
+				}
+				case EventRecorder.INVENTORY:
+				{
+					Item[] items = items(ints);
+					ItemContainerChanged event = new ItemContainerChanged(InventoryID.INVENTORY.getId(), null);
+					steps.add(() ->
+					{
+						fixture.gameCycle = cycle;
+						fixture.items = items;
+						plugin.onItemContainerChanged(event);
+					});
+					break;
+				}
+				case EventRecorder.CHAT:
+				{
+					ChatMessage event = new ChatMessage();
+					event.setType(ChatMessageType.valueOf(record.getStrings()[0]));
+					event.setMessage(record.getStrings()[1]);
+					steps.add(() ->
+					{
+						fixture.gameCycle = cycle;
+						if (plugin.isAlertSubscriberRegistered())
+						{
+							plugin.onChatMessage(event);
+						}
+					});
+					break;
+				}
+				case EventRecorder.GRAPHIC:
+				{
+					int[] spotAnims = Arrays.copyOfRange(ints, 1, ints.length);
+					boolean local = ints[0] == 1;
+					GraphicChanged event = new GraphicChanged();
+					event.setActor(local ? fixture.localPlayer : otherPlayer);
+					steps.add(() ->
+					{
+						fixture.gameCycle = cycle;
+						if (local)
+						{
+							fixture.localSpotAnims = spotAnims;
+						}
+						if (plugin.isAlertSubscriberRegistered())
+						{
+							plugin.onGraphicChanged(event);
+						}
+					});
+					break;
+				}
+				case EventRecorder.GAME_STATE:
+				{
+					GameStateChanged event = new GameStateChanged();
+					event.setGameState(GameState.valueOf(record.getStrings()[0]));
+					boolean inInstance = ints[0] == 1;
+					steps.add(() ->
+					{
+						fixture.gameCycle = cycle;
+						fixture.inInstance = inInstance;
+						plugin.onGameStateChanged(event);
+					});
+					break;
+				}
+				case EventRecorder.VARBIT:
+				{
+					VarbitChanged event = new VarbitChanged();
+					event.setVarpId(ints[0]);
+					event.setVarbitId(ints[1]);
+					event.setValue(ints[2]);
+					steps.add(() ->
+					{
+						fixture.gameCycle = cycle;
+						setVar(fixture, ints[0], ints[1], ints[2]);
+						combatStyleTracker.onVarbitChanged(event);
+						boostDecayScheduler.onVarbitChanged(event);
+					});
+					break;
+				}
+				default:
+					break;
+			}
+		}
+		return steps;
+	}
+
+	/**
+	 * Turns a value recorded in ticks back into the config's seconds. The ticks were rounded up from whole
+	 * seconds, so rounding back down gives the configured value.
+	 */
+	private static void putSeconds(Map<String, String> values, String ticksKey, String secondsKey)
+	{
+		String ticks = values.remove(ticksKey);
+		if (ticks != null)
+		{
+			values.put(secondsKey, String.valueOf(Integer.parseInt(ticks) * Constants.GAME_TICK_LENGTH / 1000));
+		}
+	}
+
+	/**
+	 * @return a config answering with the recorded values, and with the defaults for items the recording
+	 * doesn't have
+	 */
+	private UnpottedReminderConfig recordedConfig()
+	{
+		Map<String, String> values = new HashMap<>(log.config);
+		putSeconds(values, "timeoutTicks", "timeout");
+		putSeconds(values, "notifyCooldownTicks", "notifyCooldown");
+		UnpottedReminderConfig defaults = new UnpottedReminderConfig()
+		{
+		};
+		return (UnpottedReminderConfig) Proxy.newProxyInstance(UnpottedReminderConfig.class.getClassLoader(),
+				new Class<?>[]{UnpottedReminderConfig.class}, (proxy, method, args) ->
+		{
+			ConfigItem item = method.getAnnotation(ConfigItem.class);
+			String value = item != null ? values.get(item.keyName()) : null;
+			if (value == null)
+			{
+				return invokeDefault(defaults, method, args);
+			}
+
+			Class<?> type = method.getReturnType();
+			if (type == boolean.class)
+			{
+				return Boolean.parseBoolean(value);
+			}
+			if (type == int.class)
+			{
+				return Integer.parseInt(value);
+			}
+			if (type == Color.class)
+			{
+				return new Color(Integer.parseInt(value), true);
+			}
+			if (type.isEnum())
+			{
+				return enumValue(type, value);
+			}
+			return value;
+		});
+	}
+
+	private static Object invokeDefault(UnpottedReminderConfig defaults, Method method, Object[] args) throws Throwable
+	{
+		try
+		{
+			return method.invoke(defaults, args);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Object enumValue(Class<?> type, String name)
+	{
+		return Enum.valueOf((Class<? extends Enum>) type, name);
+	}
+
+	private static void setVar(PluginFixture fixture, int varpId, int varbitId, int value)
+	{
+		if (varbitId != -1)
+		{
+			fixture.varbits[varbitId] = value;
+		}
+		else
+		{
+			fixture.varps[varpId] = value;
+		}
+	}
+
+	/**
+	 * Applies a skill's experience, level and boosted level, laid out as in STAT and EXPERIENCE records.
+	 */
+	private static void setSkill(PluginFixture fixture, int[] ints)
+	{
+		fixture.experience[ints[0]] = ints[1];
+		fixture.levels[ints[0]] = ints[2];
+		fixture.boostedLevels[ints[0]] = ints[3];
+	}
+
+	private static Item[] items(int[] ints)
+	{
+		Item[] items = new Item[ints.length / 2];
+		for (int slot = 0; slot < items.length; slot++)
+		{
+			items[slot] = new Item(ints[slot * 2], ints[slot * 2 + 1]);
+		}
+		return items;
+	}
+}
@@ -0,0 +1,148 @@
+package com.unpottedreminder;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.Skill;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.gameval.ItemID;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Records a raid boss fight with a super combat and a ranging potion in the inventory and the default config,
+ * then replays it. The attack boost is drained on tick 100 and alerted on the next tick, until the super
+ * combat is drunk. Strength and ranged are drained on tick 103, alerted together on tick 104, and the alert
+ * times out after 17 ticks.
+ */
+public class EventReplayTest
+{
+	private static final int XP = 13_034_431;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final PluginFixture fixture = new PluginFixture();
+	private EventRecorder recorder;
+
+	@Test
+	public void decisionsMatchRecording() throws IOException
+	{
+		File file = new File(folder.getRoot(), "raid-alerts.bin.gz");
+		recordRaid(file);
+
+		EventLog log;
+		try (InputStream in = new FileInputStream(file))
+		{
+			log = EventLog.readGzipped(in);
+		}
+
+		assertEquals(4, log.records.stream().filter(EventLog::isDecision).count());
+		assertNull(new EventReplay(log).checkDecisions());
+	}
+
+	/**
+	 * Writes the events through the recorder as the client would deliver them, along with the decisions the
+	 * plugin is expected to make.
+	 */
+	private void recordRaid(File file) throws IOException
+	{
+		fixture.items = inventory(ItemID._4DOSE2COMBAT, ItemID._4DOSERANGERSPOTION);
+		fixture.gameCycle = 1000;
+		setSkill(Skill.ATTACK, XP, 100);
+		setSkill(Skill.STRENGTH, XP, 100);
+		setSkill(Skill.DEFENCE, XP, 100);
+		setSkill(Skill.RANGED, XP, 112);
+		setSkill(Skill.MAGIC, XP, 99);
+
+		recorder = EventRecorder.open(fixture, file, ConfigSnapshot.from(fixture.config), Runnable::run);
+		recorder.recordClientState(SkillState.TRACKED_SKILLS);
+
+		tick(100);
+		statChanged(Skill.ATTACK, XP + 40, 99);
+		tick(101);
+		recorder.recordAlert(EnumSet.of(Skill.ATTACK));
+		chatMessage("You drink some of your super combat potion.");
+		recorder.recordClear(AlertState.ACTIVE, AlertState.COOLDOWN);
+		inventoryChanged(ItemID._3DOSE2COMBAT, ItemID._4DOSERANGERSPOTION);
+		statChanged(Skill.ATTACK, XP + 40, 118);
+		statChanged(Skill.STRENGTH, XP, 118);
+		statChanged(Skill.DEFENCE, XP, 118);
+		tick(102);
+		tick(103);
+		statChanged(Skill.STRENGTH, XP + 80, 99);
+		statChanged(Skill.RANGED, XP + 40, 99);
+		tick(104);
+		recorder.recordAlert(EnumSet.of(Skill.STRENGTH, Skill.RANGED));
+		for (int tick = 105; tick <= 121; tick++)
+		{
+			tick(tick);
+		}
+		recorder.recordClear(AlertState.ACTIVE, AlertState.IDLE);
+		tick(122);
+
+		recorder.close();
+	}
+
+	private void tick(int tick)
+	{
+		fixture.tick = tick;
+		fixture.gameCycle += 30;
+		recorder.onGameTick(new GameTick());
+	}
+
+	private void setSkill(Skill skill, int xp, int boostedLevel)
+	{
+		fixture.experience[skill.ordinal()] = xp;
+		fixture.levels[skill.ordinal()] = 99;
+		fixture.boostedLevels[skill.ordinal()] = boostedLevel;
+	}
+
+	private void statChanged(Skill skill, int xp, int boostedLevel)
+	{
+		setSkill(skill, xp, boostedLevel);
+		recorder.onStatChanged(new StatChanged(skill, xp, 99, boostedLevel));
+	}
+
+	private void chatMessage(String message)
+	{
+		ChatMessage event = new ChatMessage();
+		event.setType(ChatMessageType.SPAM);
+		event.setMessage(message);
+		recorder.onChatMessage(event);
+	}
+
+	private void inventoryChanged(int... itemIds)
+	{
+		fixture.items = inventory(itemIds);
+		ItemContainer container = mock(ItemContainer.class);
+		when(container.getItems()).thenReturn(fixture.items);
+		recorder.onItemContainerChanged(new ItemContainerChanged(InventoryID.INVENTORY.getId(), container));
+	}
+
+	private static Item[] inventory(int... itemIds)
+	{
+		Item[] items = new Item[28];
+		for (int slot = 0; slot < items.length; slot++)
+		{
+			items[slot] = new Item(slot < itemIds.length ? itemIds[slot] : -1, slot < itemIds.length ? 1 : 0);
+		}
+		return items;
+	}
+}
@@ -0,0 +1,118 @@
+package com.unpottedreminder;
+
+import net.runelite.api.Item;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InventoryPotionIndexTest
+{
+	private static final int SUPER_COMBAT_4 = 12695;
+	private static final int SUPER_COMBAT_3 = 12697;
+	private static final int SUPER_COMBAT_1 = 12701;
+	private static final int RANGING_4 = 2444;
+	private static final int RANGING_3 = 169;
+	private static final int PRAYER_4 = 2434;
+	private static final int PRAYER_3 = 139;
+	private static final int VIAL = 229;
+
+	private final InventoryPotionIndex index = new InventoryPotionIndex(PotionRegistry.builder()
+			.put(SUPER_COMBAT_4, PotionRegistry.ATTACK | PotionRegistry.STRENGTH, 5, 15, 4)
+			.put(SUPER_COMBAT_3, PotionRegistry.ATTACK | PotionRegistry.STRENGTH, 5, 15, 3)
+			.put(SUPER_COMBAT_1, PotionRegistry.ATTACK | PotionRegistry.STRENGTH, 5, 15, 1)
+			.put(RANGING_4, PotionRegistry.RANGED, 4, 10, 4)
+			.put(RANGING_3, PotionRegistry.RANGED, 4, 10, 3)
+			.build());
+
+	private static Item[] inventory(int... itemIds)
+	{
+		Item[] items = new Item[itemIds.length];
+		for (int slot = 0; slot < items.length; slot++)
+		{
+			items[slot] = new Item(itemIds[slot], itemIds[slot] == -1 ? 0 : 1);
+		}
+		return items;
+	}
+
+	@Test
+	public void countsItemsAndDosesPerCategory()
+	{
+		assertEquals(0, index.update(inventory(SUPER_COMBAT_4, SUPER_COMBAT_3, RANGING_4, PRAYER_4)));
+
+		assertTrue(index.has(PotionRegistry.ATTACK));
+		assertTrue(index.has(PotionRegistry.RANGED));
+		assertFalse(index.has(PotionRegistry.MAGIC));
+		assertEquals(7, index.getDoses(PotionRegistry.STRENGTH));
+		assertEquals(4, index.getDoses(PotionRegistry.RANGED));
+	}
+
+	@Test
+	public void aDoseTakenInPlaceIsADrink()
+	{
+		index.update(inventory(SUPER_COMBAT_4, RANGING_4));
+
+		assertEquals(1, index.update(inventory(SUPER_COMBAT_3, RANGING_4)));
+		assertEquals(1, index.update(inventory(SUPER_COMBAT_3, RANGING_3)));
+		assertEquals(3, index.getDoses(PotionRegistry.RANGED));
+	}
+
+	@Test
+	public void theLastDoseLeavingAVialIsADrink()
+	{
+		index.update(inventory(SUPER_COMBAT_1, RANGING_4));
+
+		assertEquals(1, index.update(inventory(VIAL, RANGING_4)));
+		assertEquals(0, index.getLastDosesRemoved());
+		assertFalse(index.has(PotionRegistry.ATTACK));
+	}
+
+	@Test
+	public void droppingAOneDosePotionIsNotADrink()
+	{
+		index.update(inventory(SUPER_COMBAT_1, RANGING_4));
+
+		assertEquals(0, index.update(inventory(-1, RANGING_4)));
+		assertEquals(1, index.getLastDosesRemoved());
+		assertEquals(0, index.getDoses(PotionRegistry.ATTACK));
+
+		assertEquals(1, index.update(inventory(-1, RANGING_3)));
+		assertEquals(0, index.getLastDosesRemoved());
+	}
+
+	@Test
+	public void bankingOneDosePotionsIsNotADrink()
+	{
+		index.update(inventory(SUPER_COMBAT_1, SUPER_COMBAT_1, RANGING_4));
+
+		assertEquals(0, index.update(inventory(-1, -1, RANGING_4)));
+		assertEquals(2, index.getLastDosesRemoved());
+	}
+
+	@Test
+	public void otherPotionsAreNotDrinks()
+	{
+		index.update(inventory(PRAYER_4, SUPER_COMBAT_4));
+
+		assertEquals(0, index.update(inventory(PRAYER_3, SUPER_COMBAT_4)));
+	}
+
+	@Test
+	public void movingPotionsIsNotDrinking()
+	{
+		index.update(inventory(SUPER_COMBAT_4, SUPER_COMBAT_3));
+
+		assertEquals(0, index.update(inventory(SUPER_COMBAT_3, SUPER_COMBAT_4)));
+		assertEquals(0, index.update(inventory(SUPER_COMBAT_4, -1, SUPER_COMBAT_3)));
+		assertEquals(7, index.getDoses(PotionRegistry.ATTACK));
+	}
+
+	@Test
+	public void droppingAPotionIsNotDrinking()
+	{
+		index.update(inventory(SUPER_COMBAT_4, RANGING_4));
+
+		assertEquals(0, index.update(inventory(-1, RANGING_4)));
+	}
+}
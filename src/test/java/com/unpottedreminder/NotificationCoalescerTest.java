@@ -0,0 +1,93 @@
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+import net.runelite.client.Notifier;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class NotificationCoalescerTest
+{
+	private static final String MESSAGE = "Drink a boost potion!";
+	private static final int COOLDOWN = 10;
+
+	private final Notifier notifier = mock(Notifier.class);
+	private final PluginMetrics metrics = new PluginMetrics();
+	private final NotificationCoalescer coalescer = new NotificationCoalescer(notifier, metrics);
+
+	@Test
+	public void aSingleStyleKeepsTheMessageAsIs()
+	{
+		assertEquals(MESSAGE, NotificationCoalescer.format(MESSAGE, EnumSet.of(BoostStyle.MELEE)));
+		assertEquals(MESSAGE + " (Melee, Ranged)",
+				NotificationCoalescer.format(MESSAGE, EnumSet.of(BoostStyle.MELEE, BoostStyle.RANGED)));
+	}
+
+	@Test
+	public void alertsOnOneTickAreSentTogether()
+	{
+		assertTrue(coalescer.offer(Collections.singleton(Skill.ATTACK), MESSAGE, COOLDOWN, 100));
+		assertTrue(coalescer.offer(Collections.singleton(Skill.RANGED), MESSAGE, COOLDOWN, 100));
+		verifyNoInteractions(notifier);
+
+		assertTrue(coalescer.flush(100));
+		verify(notifier).notify(MESSAGE + " (Melee, Ranged)");
+	}
+
+	@Test
+	public void alertsDuringTheCooldownAreMergedUntilItEnds()
+	{
+		coalescer.offer(Collections.singleton(Skill.STRENGTH), MESSAGE, COOLDOWN, 100);
+		coalescer.flush(100);
+
+		assertFalse(coalescer.offer(Collections.singleton(Skill.MAGIC), MESSAGE, COOLDOWN, 103));
+		assertFalse(coalescer.flush(103));
+		coalescer.offer(Arrays.asList(Skill.ATTACK, Skill.RANGED), MESSAGE, COOLDOWN, 105);
+		assertFalse(coalescer.flush(109));
+
+		assertTrue(coalescer.flush(110));
+		verify(notifier).notify(MESSAGE);
+		verify(notifier).notify(MESSAGE + " (Melee, Ranged, Magic)");
+		verifyNoMoreInteractions(notifier);
+	}
+
+	@Test
+	public void cancelDropsThePendingNotificationButKeepsTheCooldown()
+	{
+		coalescer.offer(Collections.singleton(Skill.MAGIC), MESSAGE, COOLDOWN, 100);
+		coalescer.flush(100);
+		coalescer.offer(Collections.singleton(Skill.RANGED), MESSAGE, COOLDOWN, 101);
+		coalescer.cancel();
+
+		assertFalse(coalescer.flush(110));
+		assertFalse(coalescer.offer(Collections.singleton(Skill.RANGED), MESSAGE, COOLDOWN, 105));
+		verify(notifier).notify(MESSAGE);
+		verifyNoMoreInteractions(notifier);
+	}
+
+	@Test
+	public void alertLatencyIsRecordedWhenTheNotificationIsSent()
+	{
+		metrics.setEnabled(true);
+		metrics.boostLow(Skill.ATTACK, 90);
+		coalescer.offer(Collections.singleton(Skill.ATTACK), MESSAGE, COOLDOWN, 100);
+		coalescer.flush(100);
+		metrics.boostLow(Skill.MAGIC, 101);
+		coalescer.offer(Collections.singleton(Skill.MAGIC), MESSAGE, COOLDOWN, 102);
+		assertEquals(1, metrics.getAlertLatencyTicks().getCount());
+
+		coalescer.flush(110);
+		assertEquals(2, metrics.getAlertLatencyTicks().getCount());
+		assertEquals(10, metrics.getAlertLatencyTicks().getMax());
+	}
+}
@@ -0,0 +1,101 @@
+package com.unpottedreminder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NpcFilterTest
+{
+	private static NpcFilter filter(boolean useWhitelist, String whitelist, boolean useBlacklist, String blacklist)
+	{
+		return NpcFilter.compile(ConfigSnapshot.builder()
+				.useWhitelist(useWhitelist)
+				.whitelist(whitelist)
+				.useBlacklist(useBlacklist)
+				.blacklist(blacklist)
+				.build());
+	}
+
+	@Test
+	public void allowsEverythingWhenNoListIsUsed()
+	{
+		NpcFilter filter = filter(false, "Vorkath", false, "Vorkath");
+
+		assertTrue(filter.allows("Vorkath"));
+		assertTrue(filter.allows(null));
+	}
+
+	@Test
+	public void matchesWildcardsCaseInsensitively()
+	{
+		NpcFilter filter = filter(true, "tekton*, *Shaman, Verzik Vitur", false, "");
+
+		assertTrue(filter.allows("Tekton (enraged)"));
+		assertTrue(filter.allows("Lizardman shaman"));
+		assertTrue(filter.allows("verzik vitur"));
+		assertFalse(filter.allows("Verzik Vitur's nylocas"));
+		assertFalse(filter.allows("Vasa Nistirio"));
+	}
+
+	@Test
+	public void quotesRegexCharactersInEntries()
+	{
+		NpcFilter filter = filter(true, "K'ril Tsutsaroth, Ba-Ba, Jal-*", false, "");
+
+		assertTrue(filter.allows("K'ril Tsutsaroth"));
+		assertTrue(filter.allows("Ba-Ba"));
+		assertTrue(filter.allows("Jal-Nib"));
+		assertFalse(filter.allows("BabBa"));
+	}
+
+	@Test
+	public void blacklistWinsOverWhitelist()
+	{
+		NpcFilter filter = filter(true, "*", true, "*Scarab*, Ice demon");
+
+		assertTrue(filter.allows("Kephri"));
+		assertFalse(filter.allows("Scarab Swarm"));
+		assertFalse(filter.allows("Ice demon"));
+	}
+
+	@Test
+	public void unnamedTargetsOnlyPassWithoutAWhitelist()
+	{
+		assertFalse(filter(true, "*", false, "").allows(null));
+		assertTrue(filter(false, "", true, "*").allows(null));
+	}
+
+	@Test
+	public void emptyWhitelistMatchesNothing()
+	{
+		assertFalse(filter(true, " , ", false, "").allows("Vorkath"));
+	}
+
+	@Test
+	public void cachedVerdictFollowsTheNameOfATransformedNpc()
+	{
+		NpcFilter filter = filter(true, "Phantom Muspah", true, "Phantom Muspah (shielded)");
+
+		assertTrue(filter.allows("Phantom Muspah"));
+		assertFalse(filter.allows("Phantom Muspah (shielded)"));
+		assertTrue(filter.allows("Phantom Muspah"));
+	}
+
+	@Test
+	public void cacheCollisionsKeepTheRightVerdict()
+	{
+		NpcFilter filter = filter(true, "Boss*", false, "");
+
+		for (int i = 0; i < 500; i++)
+		{
+			assertTrue(filter.allows("Boss " + i));
+			assertFalse(filter.allows("Minion " + i));
+		}
+		for (int i = 0; i < 500; i++)
+		{
+			assertTrue(filter.allows("Boss " + i));
+			assertFalse(filter.allows("Minion " + i));
+		}
+	}
+}
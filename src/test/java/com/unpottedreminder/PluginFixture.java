@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2022, Ankou <https://github.com/AnkouOSRS>
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.unpottedreminder;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Scopes;
+import net.runelite.api.Actor;
+import net.runelite.api.GameState;
+import net.runelite.api.Item;
+import net.runelite.api.Skill;
+import net.runelite.api.gameval.ItemID;
+import net.runelite.client.Notifier;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.ui.overlay.OverlayManager;
+import net.runelite.client.ui.overlay.infobox.InfoBoxManager;
+import net.runelite.client.util.AsyncBufferedImage;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.IntPredicate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * A plugin wired up against a fake, logged in client: in an instance, attacking an NPC, with a typical raid
+ * inventory. The fixture is the plugin's {@link ClientView}, backed by plain fields, so benchmarks and replays
+ * drive it by assignment and every read on the alert path is a field load. The tick counter never depends on
+ * the wall clock. Actors are opaque tokens: their spot animations are read through the fixture too.
+ * <p>
+ * The collaborators the plugin only calls on startup, on config changes or when the alert is shown or hidden
+ * are stub-only mocks, which record no invocations. Notifications are collected like game messages.
+ */
+final class PluginFixture implements ClientView
+{
+	static final String NPC_NAME = "Great Olm";
+	static final int NPC_ID = 7554;
+
+	private static final int VAR_COUNT = 1 << 16;
+
+	final UnpottedReminderConfig config;
+	final UnpottedReminderPlugin plugin = new UnpottedReminderPlugin();
+
+	private final ClientThread clientThread = stub(ClientThread.class);
+	private final ScheduledExecutorService executor = stub(ScheduledExecutorService.class);
+	private final ItemManager itemManager = stub(ItemManager.class);
+	private final Notifier notifier = stub(Notifier.class);
+
+	GameState gameState = GameState.LOGGED_IN;
+	int tick;
+	int gameCycle;
+	boolean inInstance = true;
+	int regionId = RegionTracker.UNKNOWN_REGION;
+	boolean interacting = true;
+	String targetName = NPC_NAME;
+	int targetNpcId = NPC_ID;
+	final Actor localPlayer = actor();
+	int[] localSpotAnims = new int[0];
+	Item[] items = raidInventory();
+	final int[] experience = new int[Skill.values().length];
+	final int[] levels = new int[Skill.values().length];
+	final int[] boostedLevels = new int[Skill.values().length];
+	final int[] varbits = new int[VAR_COUNT];
+	final int[] varps = new int[VAR_COUNT];
+	final List<String> gameMessages = new ArrayList<>();
+	final List<String> notifications = new ArrayList<>();
+
+	private Injector injector;
+
+	PluginFixture()
+	{
+		this(new UnpottedReminderConfig()
+		{
+		});
+	}
+
+	PluginFixture(UnpottedReminderConfig config)
+	{
+		this.config = config;
+
+		AsyncBufferedImage vial = stub(AsyncBufferedImage.class);
+		when(vial.getWidth()).thenReturn(36);
+		when(vial.getHeight()).thenReturn(32);
+		when(itemManager.getImage(anyInt())).thenReturn(vial);
+
+		doAnswer(invocation ->
+		{
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(clientThread).invoke(any(Runnable.class));
+
+		doAnswer(invocation ->
+		{
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(executor).execute(any(Runnable.class));
+
+		doAnswer(invocation ->
+		{
+			notifications.add(invocation.getArgument(0));
+			return null;
+		}).when(notifier).notify(anyString());
+	}
+
+	/**
+	 * Injects the plugin and calls {@link UnpottedReminderPlugin#startUp()}. The config must be complete
+	 * before this is called, since the config snapshot is taken here. The executor and client thread run
+	 * tasks inline, so the potion catalog has loaded by the time this returns.
+	 */
+	PluginFixture start()
+	{
+		injector = Guice.createInjector(binder ->
+		{
+			binder.bind(ClientView.class).toInstance(this);
+			binder.bind(UnpottedReminderConfig.class).toInstance(config);
+			binder.bind(UnpottedReminderPlugin.class).toInstance(plugin);
+			binder.bind(ClientThread.class).toInstance(clientThread);
+			binder.bind(ScheduledExecutorService.class).toInstance(executor);
+			binder.bind(ItemManager.class).toInstance(itemManager);
+			binder.bind(Notifier.class).toInstance(notifier);
+			binder.bind(OverlayManager.class).toInstance(stub(OverlayManager.class));
+			binder.bind(InfoBoxManager.class).toInstance(stub(InfoBoxManager.class));
+			binder.bind(EventBus.class).toInstance(stub(EventBus.class));
+			binder.bind(SkillState.class).in(Scopes.SINGLETON);
+			binder.bind(CombatStyleTracker.class).in(Scopes.SINGLETON);
+			binder.bind(BoostDecayScheduler.class).in(Scopes.SINGLETON);
+			binder.bind(RegionTracker.class).in(Scopes.SINGLETON);
+		});
+		injector.injectMembers(plugin);
+		plugin.startUp();
+		return this;
+	}
+
+	CombatStyleTracker combatStyleTracker()
+	{
+		return injector.getInstance(CombatStyleTracker.class);
+	}
+
+	BoostDecayScheduler boostDecayScheduler()
+	{
+		return injector.getInstance(BoostDecayScheduler.class);
+	}
+
+	RegionTracker regionTracker()
+	{
+		return injector.getInstance(RegionTracker.class);
+	}
+
+	UnpottedReminderOverlay overlay()
+	{
+		return Guice.createInjector(binder ->
+		{
+			binder.bind(ClientView.class).toInstance(this);
+			binder.bind(UnpottedReminderPlugin.class).toInstance(plugin);
+			binder.bind(ItemManager.class).toInstance(itemManager);
+		}).getInstance(UnpottedReminderOverlay.class);
+	}
+
+	@Override
+	public GameState getGameState()
+	{
+		return gameState;
+	}
+
+	@Override
+	public int getTickCount()
+	{
+		return tick;
+	}
+
+	@Override
+	public int getGameCycle()
+	{
+		return gameCycle;
+	}
+
+	@Override
+	public boolean isInInstancedRegion()
+	{
+		return inInstance;
+	}
+
+	@Override
+	public int getRegionId()
+	{
+		return regionId;
+	}
+
+	@Override
+	public int getSkillExperience(Skill skill)
+	{
+		return experience[skill.ordinal()];
+	}
+
+	@Override
+	public int getRealSkillLevel(Skill skill)
+	{
+		return levels[skill.ordinal()];
+	}
+
+	@Override
+	public int getBoostedSkillLevel(Skill skill)
+	{
+		return boostedLevels[skill.ordinal()];
+	}
+
+	@Override
+	public int getVarbitValue(int varbitId)
+	{
+		return varbits[varbitId];
+	}
+
+	@Override
+	public int getVarpValue(int varpId)
+	{
+		return varps[varpId];
+	}
+
+	@Override
+	public Item[] getInventoryItems()
+	{
+		return items;
+	}
+
+	@Override
+	public boolean isInteracting()
+	{
+		return interacting;
+	}
+
+	@Override
+	public String getInteractingName()
+	{
+		return interacting ? targetName : null;
+	}
+
+	@Override
+	public int getInteractingNpcId()
+	{
+		return interacting ? targetNpcId : -1;
+	}
+
+	@Override
+	public boolean isLocalPlayer(Actor actor)
+	{
+		return actor != null && actor == localPlayer;
+	}
+
+	@Override
+	public boolean hasSpotAnim(Actor actor, IntPredicate matches)
+	{
+		if (actor != localPlayer)
+		{
+			return false;
+		}
+
+		for (int spotAnim : localSpotAnims)
+		{
+			if (matches.test(spotAnim))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void addGameMessage(String message)
+	{
+		gameMessages.add(message);
+	}
+
+	/**
+	 * @return an actor that only supports identity comparison; anything called on it throws
+	 */
+	static Actor actor()
+	{
+		return (Actor) Proxy.newProxyInstance(Actor.class.getClassLoader(), new Class<?>[]{Actor.class}, (proxy, method, args) ->
+		{
+			throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+	static Item[] raidInventory()
+	{
+		int[] ids = {
+				ItemID._4DOSE2COMBAT, ItemID._3DOSE2COMBAT, ItemID._4DOSERANGERSPOTION, ItemID._4DOSEDIVINEMAGIC,
+				ItemID.IMBUED_HEART, ItemID.RAIDS_VIAL_OVERLOAD_STRONG_4, ItemID.VIAL_EMPTY,
+		};
+
+		Item[] items = new Item[28];
+		for (int slot = 0; slot < items.length; slot++)
+		{
+			items[slot] = new Item(slot < ids.length ? ids[slot] : -1, slot < ids.length ? 1 : 0);
+		}
+		return items;
+	}
+
+	private static <T> T stub(Class<T> type)
+	{
+		return mock(type, withSettings().stubOnly());
+	}
+}
@@ -0,0 +1,121 @@
+package com.unpottedreminder;
+
+import net.runelite.api.gameval.ItemID;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PotionCatalogTest
+{
+	@Test
+	public void bundledIdsMatchTheirItemNames() throws Exception
+	{
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				PotionCatalog.class.getResourceAsStream(PotionCatalog.RESOURCE), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				if (line.isEmpty() || line.startsWith("#"))
+				{
+					continue;
+				}
+
+				int comment = line.indexOf('#');
+				assertTrue("no item name: " + line, comment > 0);
+				String name = line.substring(comment + 1).trim();
+				int itemId = Integer.parseInt(line.substring(0, line.indexOf(',')));
+				assertEquals(name, ItemID.class.getField(name).getInt(null), itemId);
+			}
+		}
+	}
+
+	@Test
+	public void resolvesEveryBundledRow() throws IOException
+	{
+		int rows = 0;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				PotionCatalog.class.getResourceAsStream(PotionCatalog.RESOURCE), StandardCharsets.UTF_8)))
+		{
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#"))
+				{
+					rows++;
+				}
+			}
+		}
+
+		PotionRegistry registry = PotionCatalog.load("");
+		assertEquals(rows, registry.size());
+		assertEquals(PotionRegistry.ATTACK | PotionRegistry.STRENGTH, registry.categoriesOf(ItemID._4DOSE2COMBAT));
+		assertEquals(4, registry.dosesOf(ItemID._4DOSE2COMBAT));
+		assertEquals(PotionRegistry.RANGED, registry.categoriesOf(ItemID._1DOSERANGERSPOTION));
+		assertEquals(1, registry.dosesOf(ItemID._1DOSERANGERSPOTION));
+	}
+
+	@Test
+	public void overridesReplaceAddAndRemoveItems()
+	{
+		PotionRegistry bundled = PotionCatalog.load("");
+		PotionRegistry registry = PotionCatalog.load(
+				ItemID._4DOSE2COMBAT + ", STRENGTH, 1, 2, 3 # weaker super combat\n"
+						+ "# a comment\n"
+						+ "\n"
+						+ "60000,magic|heart,2,5,0,1316\n"
+						+ ItemID._4DOSERANGERSPOTION + ",NONE\n");
+
+		assertEquals(bundled.size(), registry.size());
+		assertEquals(PotionRegistry.STRENGTH, registry.categoriesOf(ItemID._4DOSE2COMBAT));
+		assertEquals(1 + 99 * 2 / 100, registry.boostOf(ItemID._4DOSE2COMBAT, 99));
+		assertEquals(3, registry.dosesOf(ItemID._4DOSE2COMBAT));
+		assertEquals(PotionRegistry.MAGIC | PotionRegistry.HEART, registry.categoriesOf(60000));
+		assertTrue(registry.isBoostSpotAnim(1316));
+		assertEquals(0, registry.categoriesOf(ItemID._4DOSERANGERSPOTION));
+	}
+
+	@Test
+	public void skipsInvalidOverrideRows()
+	{
+		PotionRegistry registry = PotionCatalog.load(
+				"NOT_A_POTION,ATTACK,1,1,1\n"
+						+ "60000,WARDING,1,1,1\n"
+						+ "60001,ATTACK,1,1\n"
+						+ "60002,ATTACK,one,1,1\n"
+						+ "60003,RANGED,4,10,2\n");
+
+		assertEquals(PotionCatalog.load("").size() + 1, registry.size());
+		assertEquals(0, registry.categoriesOf(60000));
+		assertEquals(0, registry.categoriesOf(60001));
+		assertEquals(0, registry.categoriesOf(60002));
+		assertEquals(PotionRegistry.RANGED, registry.categoriesOf(60003));
+	}
+
+	@Test
+	public void appliesOverridesWhenTheBundledCatalogFails()
+	{
+		InputStream failing = new InputStream()
+		{
+			@Override
+			public int read() throws IOException
+			{
+				throw new IOException("disk error");
+			}
+		};
+
+		PotionRegistry registry = PotionCatalog.load(failing, "60000,RANGED,4,10,2");
+
+		assertEquals(1, registry.size());
+		assertEquals(PotionRegistry.RANGED, registry.categoriesOf(60000));
+		assertEquals(1, PotionCatalog.load(null, "60000,RANGED,4,10,2").size());
+	}
+}
@@ -0,0 +1,104 @@
+package com.unpottedreminder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PotionRegistryTest
+{
+	@Test
+	public void looksUpCategoriesBoostsAndDoses()
+	{
+		PotionRegistry registry = PotionRegistry.builder()
+				.put(2436, PotionRegistry.ATTACK, 5, 15, 4)
+				.put(12695, PotionRegistry.MELEE, 5, 15, 4)
+				.build();
+
+		assertEquals(2, registry.size());
+		assertEquals(PotionRegistry.ATTACK, registry.categoriesOf(2436));
+		assertEquals(PotionRegistry.MELEE, registry.categoriesOf(12695));
+		assertTrue(registry.provides(12695, PotionRegistry.STRENGTH));
+		assertFalse(registry.provides(2436, PotionRegistry.STRENGTH));
+		assertEquals(5 + 99 * 15 / 100, registry.boostOf(2436, 99));
+		assertEquals(4, registry.dosesOf(12695));
+	}
+
+	@Test
+	public void dosesOfOnePotionGiveTheSameBoost()
+	{
+		PotionRegistry registry = PotionRegistry.builder()
+				.put(2436, PotionRegistry.ATTACK, 5, 15, 4)
+				.put(145, PotionRegistry.ATTACK, 5, 15, 3)
+				.put(2428, PotionRegistry.ATTACK, 3, 10, 4)
+				.put(12695, PotionRegistry.MELEE, 5, 15, 4)
+				.build();
+
+		assertTrue(registry.isSameBoost(2436, 145));
+		assertFalse(registry.isSameBoost(2436, 2428));
+		assertFalse(registry.isSameBoost(2436, 12695));
+		assertFalse(registry.isSameBoost(2436, 229));
+	}
+
+	@Test
+	public void unknownItemsProvideNothing()
+	{
+		PotionRegistry registry = PotionRegistry.builder()
+				.put(2436, PotionRegistry.ATTACK, 5, 15, 4)
+				.build();
+
+		assertEquals(0, registry.categoriesOf(2437));
+		assertEquals(0, registry.categoriesOf(-1));
+		assertEquals(0, registry.boostOf(2437, 99));
+		assertEquals(0, registry.dosesOf(2437));
+		assertEquals(0, PotionRegistry.EMPTY.categoriesOf(2436));
+		assertEquals(0, PotionRegistry.EMPTY.size());
+	}
+
+	@Test
+	public void laterPutsReplaceAndZeroCategoriesRemove()
+	{
+		PotionRegistry registry = PotionRegistry.builder()
+				.put(2436, PotionRegistry.ATTACK, 5, 15, 4)
+				.put(2436, PotionRegistry.STRENGTH, 3, 10, 3)
+				.put(2440, PotionRegistry.STRENGTH, 5, 15, 4)
+				.put(2440, 0, 0, 0, 0)
+				.build();
+
+		assertEquals(1, registry.size());
+		assertEquals(PotionRegistry.STRENGTH, registry.categoriesOf(2436));
+		assertEquals(3 + 99 * 10 / 100, registry.boostOf(2436, 99));
+		assertEquals(3, registry.dosesOf(2436));
+		assertEquals(0, registry.categoriesOf(2440));
+	}
+
+	@Test
+	public void findsEveryItemInALargeTable()
+	{
+		PotionRegistry.Builder builder = PotionRegistry.builder();
+		for (int itemId = 0; itemId < 2000; itemId += 7)
+		{
+			builder.put(itemId, PotionRegistry.RANGED, 4, 10, 1);
+		}
+		PotionRegistry registry = builder.build();
+
+		for (int itemId = 0; itemId < 2000; itemId++)
+		{
+			assertEquals(itemId % 7 == 0 ? PotionRegistry.RANGED : 0, registry.categoriesOf(itemId));
+		}
+	}
+
+	@Test
+	public void tracksBoostSpotAnims()
+	{
+		PotionRegistry registry = PotionRegistry.builder()
+				.spotAnims(1316, 2287)
+				.build();
+
+		assertTrue(registry.isBoostSpotAnim(1316));
+		assertTrue(registry.isBoostSpotAnim(2287));
+		assertFalse(registry.isBoostSpotAnim(1317));
+		assertFalse(registry.isBoostSpotAnim(-1));
+	}
+}
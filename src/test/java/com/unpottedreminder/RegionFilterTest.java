@@ -0,0 +1,68 @@
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RegionFilterTest
+{
+	private static RegionFilter filter(String alertRegions)
+	{
+		return RegionFilter.compile(ConfigSnapshot.builder()
+				.alertRegions(alertRegions)
+				.build());
+	}
+
+	@Test
+	public void emptyListAllowsEveryRegion()
+	{
+		RegionFilter filter = filter(" , ");
+
+		assertTrue(filter.isEmpty());
+		assertTrue(filter.allows(12889));
+		assertTrue(filter.allows(-1));
+		assertNull(filter.profileFor(12889));
+	}
+
+	@Test
+	public void allowsOnlyListedRegions()
+	{
+		RegionFilter filter = filter("12889, 13123");
+
+		assertFalse(filter.isEmpty());
+		assertTrue(filter.allows(12889));
+		assertTrue(filter.allows(13123));
+		assertFalse(filter.allows(12890));
+		assertFalse(filter.allows(-1));
+	}
+
+	@Test
+	public void parsesPerRegionThresholds()
+	{
+		RegionFilter filter = filter("12889, 13123: 5 / 8 / 10");
+
+		assertTrue(filter.allows(13123));
+		assertNull(filter.profileFor(12889));
+
+		RegionFilter.ThresholdProfile profile = filter.profileFor(13123);
+		assertEquals(5, profile.thresholdFor(Skill.ATTACK));
+		assertEquals(5, profile.thresholdFor(Skill.DEFENCE));
+		assertEquals(8, profile.thresholdFor(Skill.RANGED));
+		assertEquals(10, profile.thresholdFor(Skill.MAGIC));
+	}
+
+	@Test
+	public void skipsInvalidEntries()
+	{
+		RegionFilter filter = filter("vorkath, 70000, 12889:5/8, -3, 13123");
+
+		assertFalse(filter.allows(12889));
+		assertFalse(filter.allows(70000));
+		assertTrue(filter.allows(13123));
+		assertNull(filter.profileFor(12889));
+	}
+}
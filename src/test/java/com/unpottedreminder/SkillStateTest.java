@@ -0,0 +1,86 @@
+package com.unpottedreminder;
+
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SkillStateTest
+{
+	private static final int THRESHOLD = 5;
+	private static final int HYSTERESIS = 2;
+
+	private final SkillState skillState = new SkillState();
+
+	private boolean boost(int boost)
+	{
+		skillState.setBoost(Skill.STRENGTH, boost);
+		return skillState.updateLow(Skill.STRENGTH, THRESHOLD, HYSTERESIS);
+	}
+
+	@Test
+	public void latchesLowAtTheThreshold()
+	{
+		assertFalse(boost(6));
+		assertTrue(boost(5));
+		assertTrue(skillState.isLow(Skill.STRENGTH));
+	}
+
+	@Test
+	public void staysLowInsideTheHysteresisBand()
+	{
+		assertTrue(boost(4));
+		assertTrue(boost(6));
+		assertTrue(boost(7));
+		assertFalse(boost(8));
+	}
+
+	@Test
+	public void staysHighInsideTheHysteresisBand()
+	{
+		assertFalse(boost(12));
+		assertFalse(boost(7));
+		assertFalse(boost(6));
+		assertTrue(boost(5));
+	}
+
+	@Test
+	public void zeroHysteresisReleasesJustAboveTheThreshold()
+	{
+		skillState.setBoost(Skill.MAGIC, 3);
+		assertTrue(skillState.updateLow(Skill.MAGIC, 3, 0));
+		skillState.setBoost(Skill.MAGIC, 4);
+		assertFalse(skillState.updateLow(Skill.MAGIC, 3, 0));
+	}
+
+	@Test
+	public void latchesOnAPredictedBoostWithoutStoringIt()
+	{
+		assertFalse(boost(6));
+		assertTrue(skillState.updateLow(Skill.STRENGTH, 5, THRESHOLD, HYSTERESIS));
+		assertEquals(6, skillState.getBoost(Skill.STRENGTH));
+	}
+
+	@Test
+	public void skillsLatchIndependently()
+	{
+		assertTrue(boost(0));
+		assertFalse(skillState.isLow(Skill.ATTACK));
+	}
+
+	@Test
+	public void clearForgetsEverything()
+	{
+		boost(0);
+		skillState.setExperience(Skill.STRENGTH, 1000);
+		skillState.setLevel(Skill.STRENGTH, 99);
+		skillState.clear();
+
+		assertFalse(skillState.isLow(Skill.STRENGTH));
+		assertFalse(skillState.isBoostKnown(Skill.STRENGTH));
+		assertEquals(-1, skillState.getExperience(Skill.STRENGTH));
+		assertEquals(0, skillState.getLevel(Skill.STRENGTH));
+	}
+}
@@ -0,0 +1,384 @@
+package com.unpottedreminder;
+
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.GameState;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.Skill;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.gameval.ItemID;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives a started plugin through {@link PluginFixture}, as the client would: stat changes and messages during
+ * a tick, then the game tick that evaluates them.
+ */
+public class UnpottedReminderPluginBehaviorTest
+{
+	private static final int LEVEL = 99;
+	private static final int XP = 13_034_431;
+	private static final int BOOST = 19;
+	private static final int TIMEOUT_TICKS = 17;
+	private static final int NOTIFY_COOLDOWN_TICKS = 9;
+
+	private PluginFixture fixture;
+	private UnpottedReminderPlugin plugin;
+
+	private void start(UnpottedReminderConfig config)
+	{
+		fixture = new PluginFixture(config);
+		fixture.tick = 100;
+		fixture.gameCycle = 1000;
+		for (Skill skill : SkillState.TRACKED_SKILLS)
+		{
+			fixture.experience[skill.ordinal()] = XP;
+			fixture.levels[skill.ordinal()] = LEVEL;
+			fixture.boostedLevels[skill.ordinal()] = LEVEL + BOOST;
+		}
+		fixture.start();
+		plugin = fixture.plugin;
+	}
+
+	private void start()
+	{
+		start(new UnpottedReminderConfig()
+		{
+		});
+	}
+
+	/**
+	 * A hit that drains the skill's boost to the given value.
+	 */
+	private void statChanged(Skill skill, int boost)
+	{
+		statChanged(skill, boost, 40);
+	}
+
+	private void statChanged(Skill skill, int boost, int xpGained)
+	{
+		fixture.experience[skill.ordinal()] += xpGained;
+		fixture.boostedLevels[skill.ordinal()] = LEVEL + boost;
+		plugin.onStatChanged(new StatChanged(skill, fixture.experience[skill.ordinal()], LEVEL, LEVEL + boost));
+	}
+
+	private void drinkMessage()
+	{
+		ChatMessage event = new ChatMessage();
+		event.setType(ChatMessageType.SPAM);
+		event.setMessage("You drink some of your super combat potion.");
+		plugin.onChatMessage(event);
+	}
+
+	private void inventoryChanged(Item[] items)
+	{
+		fixture.items = items;
+		plugin.onItemContainerChanged(new ItemContainerChanged(InventoryID.INVENTORY.getId(), null));
+	}
+
+	private static Item[] inventory(int... itemIds)
+	{
+		Item[] items = new Item[28];
+		for (int slot = 0; slot < items.length; slot++)
+		{
+			int itemId = slot < itemIds.length ? itemIds[slot] : -1;
+			items[slot] = new Item(itemId, itemId == -1 ? 0 : 1);
+		}
+		return items;
+	}
+
+	private void tick()
+	{
+		fixture.tick++;
+		fixture.gameCycle += 30;
+		plugin.onGameTick(new GameTick());
+	}
+
+	@Test
+	public void aDrinkClearsTheAlertAndSkipsTheNextTick()
+	{
+		start();
+		statChanged(Skill.ATTACK, 0);
+		tick();
+		assertEquals(AlertState.ACTIVE, plugin.getAlertState());
+		assertEquals(EnumSet.of(Skill.ATTACK), plugin.getAlertedSkills());
+
+		drinkMessage();
+		assertEquals(AlertState.COOLDOWN, plugin.getAlertState());
+		assertTrue(plugin.getAlertedSkills().isEmpty());
+
+		// A hit landing before the boost shows is dropped by the cooldown tick
+		fixture.gameCycle++;
+		statChanged(Skill.STRENGTH, 0);
+		tick();
+		assertEquals(AlertState.IDLE, plugin.getAlertState());
+
+		statChanged(Skill.STRENGTH, 0);
+		tick();
+		assertEquals(AlertState.ACTIVE, plugin.getAlertState());
+		assertEquals(EnumSet.of(Skill.STRENGTH), plugin.getAlertedSkills());
+	}
+
+	@Test
+	public void theAlertTimesOut()
+	{
+		start();
+		statChanged(Skill.RANGED, 0);
+		tick();
+		for (int i = 1; i < TIMEOUT_TICKS; i++)
+		{
+			tick();
+		}
+		assertEquals(AlertState.ACTIVE, plugin.getAlertState());
+
+		tick();
+		assertEquals(AlertState.IDLE, plugin.getAlertState());
+		assertTrue(plugin.getAlertedSkills().isEmpty());
+	}
+
+	@Test
+	public void aBoostInsideTheHysteresisBandKeepsTheAlert()
+	{
+		start(new UnpottedReminderConfig()
+		{
+			@Override
+			public int thresholdHysteresis()
+			{
+				return 3;
+			}
+		});
+		statChanged(Skill.ATTACK, 0);
+		tick();
+
+		statChanged(Skill.ATTACK, 3);
+		tick();
+		assertEquals(EnumSet.of(Skill.ATTACK), plugin.getAlertedSkills());
+
+		statChanged(Skill.ATTACK, 4);
+		assertEquals(AlertState.IDLE, plugin.getAlertState());
+	}
+
+	@Test
+	public void statChangesDuringATickAreEvaluatedTogetherOnTheTick()
+	{
+		start(new UnpottedReminderConfig()
+		{
+			@Override
+			public boolean debugMetrics()
+			{
+				return true;
+			}
+		});
+		statChanged(Skill.ATTACK, 0);
+		statChanged(Skill.STRENGTH, 0);
+		statChanged(Skill.DEFENCE, 0);
+		statChanged(Skill.HITPOINTS, 0);
+		assertEquals(AlertState.IDLE, plugin.getAlertState());
+
+		tick();
+		assertEquals(AlertState.ACTIVE, plugin.getAlertState());
+		assertEquals(EnumSet.of(Skill.ATTACK, Skill.STRENGTH), plugin.getAlertedSkills());
+		assertEquals(1, plugin.getMetrics().getDecisionNanos().getCount());
+
+		tick();
+		assertEquals(1, plugin.getMetrics().getDecisionNanos().getCount());
+	}
+
+	@Test
+	public void aHitAboveTheExperienceThresholdIsNotEvaluated()
+	{
+		start();
+		statChanged(Skill.RANGED, 0, 1_000);
+		tick();
+		assertEquals(AlertState.IDLE, plugin.getAlertState());
+
+		statChanged(Skill.RANGED, 0);
+		tick();
+		assertEquals(EnumSet.of(Skill.RANGED), plugin.getAlertedSkills());
+	}
+
+	@Test
+	public void theSubscriberFollowsTheBoostItemsInTheInventory()
+	{
+		start();
+		assertTrue(plugin.isAlertSubscriberRegistered());
+		statChanged(Skill.ATTACK, 0);
+		tick();
+
+		inventoryChanged(inventory());
+		assertFalse(plugin.isAlertSubscriberRegistered());
+		assertEquals(AlertState.IDLE, plugin.getAlertState());
+
+		// Skill state isn't followed while unregistered, so it is read back on registering
+		fixture.boostedLevels[Skill.STRENGTH.ordinal()] = LEVEL;
+		inventoryChanged(PluginFixture.raidInventory());
+		assertTrue(plugin.isAlertSubscriberRegistered());
+		assertEquals(0, plugin.getSkillState().getBoost(Skill.STRENGTH));
+	}
+
+	@Test
+	public void theSubscriberIsOnlyRegisteredInsideAnInstanceWhenRequired()
+	{
+		start(new UnpottedReminderConfig()
+		{
+			@Override
+			public boolean onlyInInstances()
+			{
+				return true;
+			}
+		});
+		assertTrue(plugin.isAlertSubscriberRegistered());
+
+		fixture.inInstance = false;
+		GameStateChanged loggedIn = new GameStateChanged();
+		loggedIn.setGameState(GameState.LOGGED_IN);
+		plugin.onGameStateChanged(loggedIn);
+		assertFalse(plugin.isAlertSubscriberRegistered());
+
+		fixture.inInstance = true;
+		plugin.onGameStateChanged(loggedIn);
+		assertTrue(plugin.isAlertSubscriberRegistered());
+	}
+
+	@Test
+	public void theSubscriberIsNeverRegisteredWithEveryStyleOff()
+	{
+		start(new UnpottedReminderConfig()
+		{
+			@Override
+			public boolean enableMelee()
+			{
+				return false;
+			}
+
+			@Override
+			public boolean enableRanged()
+			{
+				return false;
+			}
+		});
+
+		assertFalse(plugin.isAlertSubscriberRegistered());
+	}
+
+	@Test
+	public void shutDownUnregistersAndClearsTheAlert()
+	{
+		start();
+		statChanged(Skill.RANGED, 0);
+		tick();
+
+		plugin.shutDown();
+		assertFalse(plugin.isAlertSubscriberRegistered());
+		assertEquals(AlertState.IDLE, plugin.getAlertState());
+		assertTrue(plugin.getAlertedSkills().isEmpty());
+	}
+
+	private void startNotifying()
+	{
+		start(new UnpottedReminderConfig()
+		{
+			@Override
+			public boolean shouldNotify()
+			{
+				return true;
+			}
+		});
+	}
+
+	@Test
+	public void alertsDuringTheNotifyCooldownAreMergedIntoOneNotification()
+	{
+		startNotifying();
+		statChanged(Skill.ATTACK, 0);
+		tick();
+		assertEquals(Collections.singletonList(UnpottedReminderPlugin.DEFAULT_ALERT_MESSAGE), fixture.notifications);
+
+		tick();
+		tick();
+		statChanged(Skill.RANGED, 0);
+		while (fixture.tick < 100 + NOTIFY_COOLDOWN_TICKS)
+		{
+			tick();
+		}
+		assertEquals(1, fixture.notifications.size());
+
+		tick();
+		assertEquals(2, fixture.notifications.size());
+		assertEquals(UnpottedReminderPlugin.DEFAULT_ALERT_MESSAGE + " (Melee, Ranged)", fixture.notifications.get(1));
+	}
+
+	@Test
+	public void aDrinkDropsTheMergedNotification()
+	{
+		startNotifying();
+		statChanged(Skill.ATTACK, 0);
+		tick();
+		statChanged(Skill.RANGED, 0);
+		tick();
+
+		drinkMessage();
+		for (int i = 0; i < NOTIFY_COOLDOWN_TICKS; i++)
+		{
+			tick();
+		}
+		assertEquals(1, fixture.notifications.size());
+	}
+
+	/**
+	 * Starts with a one dose and a four dose super combat. The ledger only knows the ticks per boost cycle once
+	 * it has seen two cycles, which is how the tests tell whether the first dose counted as a drink.
+	 */
+	private void startWithOneDoseLeft()
+	{
+		start();
+		inventoryChanged(inventory(ItemID._1DOSE2COMBAT, ItemID._4DOSE2COMBAT));
+	}
+
+	private void drinkFromTheFourDose()
+	{
+		inventoryChanged(inventory(-1, ItemID._3DOSE2COMBAT));
+		drinkMessage();
+	}
+
+	@Test
+	public void aSmashedLastDoseCountsOnceTheDrinkMessageArrives()
+	{
+		startWithOneDoseLeft();
+		tick();
+		inventoryChanged(inventory(-1, ItemID._4DOSE2COMBAT));
+		drinkMessage();
+
+		for (int i = 0; i < 10; i++)
+		{
+			tick();
+		}
+		drinkFromTheFourDose();
+		assertEquals(10, plugin.getDoseLedger().getTicksPerCycle());
+	}
+
+	@Test
+	public void aDroppedLastDoseIsNotADrink()
+	{
+		startWithOneDoseLeft();
+		tick();
+		inventoryChanged(inventory(-1, ItemID._4DOSE2COMBAT));
+
+		for (int i = 0; i < 10; i++)
+		{
+			tick();
+		}
+		drinkFromTheFourDose();
+		assertEquals(DoseLedger.UNKNOWN, plugin.getDoseLedger().getTicksPerCycle());
+	}
+}